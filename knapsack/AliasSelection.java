@@ -0,0 +1,107 @@
+package knapsack;
+
+/**
+ * @filename:       AliasSelection.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Fitness-proportionate selection using Walker's alias
+ *                  method (Vose's construction); O(n) to build the table
+ *                  once per generation, then O(1) per pick, with the same
+ *                  selection probabilities as RouletteSelection
+ */
+
+
+import java.util.SplittableRandom;
+
+public class AliasSelection implements Selection {
+
+    private int population_size = 0;
+    private boolean uniform = true;
+    private double[] probability = new double[0];
+    private int[] alias = new int[0];
+    private int[] small = new int[0];
+    private int[] large = new int[0];
+    private SplittableRandom generator;
+
+
+
+    /**
+     * Builds alias table; each column i keeps gene i with probability
+     * probability[i], and otherwise gives gene alias[i]
+     */
+    @Override
+    public void prepare(double[] fitness, int population_size, double total_fitness,
+            SplittableRandom generator) {
+        this.generator = generator;
+        if(probability.length < population_size) {
+            probability = new double[population_size];
+            alias = new int[population_size];
+            small = new int[population_size];
+            large = new int[population_size];
+        }
+        this.population_size = population_size;
+        this.uniform = total_fitness <= 0;
+        if(uniform) {
+            return;
+        }
+
+        // Scale fitness so the average column holds exactly 1
+        int small_count = 0;
+        int large_count = 0;
+        double scale = population_size / total_fitness;
+        for(int i = 0; i < population_size; i++) {
+            probability[i] = fitness[i] * scale;
+            if(probability[i] < 1) {
+                small[small_count] = i;
+                small_count = small_count + 1;
+            }
+            else {
+                large[large_count] = i;
+                large_count = large_count + 1;
+            }
+        }
+
+        // Top up each small column with the excess of a large one
+        while(small_count > 0 && large_count > 0) {
+            small_count = small_count - 1;
+            large_count = large_count - 1;
+            int less = small[small_count];
+            int more = large[large_count];
+            alias[less] = more;
+            probability[more] = (probability[more] + probability[less]) - 1;
+            if(probability[more] < 1) {
+                small[small_count] = more;
+                small_count = small_count + 1;
+            }
+            else {
+                large[large_count] = more;
+                large_count = large_count + 1;
+            }
+        }
+
+        // Whatever is left is full, up to rounding error
+        while(large_count > 0) {
+            large_count = large_count - 1;
+            probability[large[large_count]] = 1;
+        }
+        while(small_count > 0) {
+            small_count = small_count - 1;
+            probability[small[small_count]] = 1;
+        }
+    }
+
+
+    /**
+     * Picks a random column, then either its own gene or its alias
+     */
+    @Override
+    public int select() {
+        double rand = generator.nextDouble() * population_size;
+        int column = (int) rand;
+        if(uniform || (rand - column) < probability[column]) {
+            return column;
+        }
+        return alias[column];
+    }
+
+} // AliasSelection
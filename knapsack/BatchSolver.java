@@ -0,0 +1,411 @@
+package knapsack;
+
+/**
+ * @filename:       BatchSolver.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Solves many problems in one JVM: every file of a
+ *                  directory (ProblemFile text or BinaryProblemFile
+ *                  format, in name order), or every section of a
+ *                  multi-instance text file (ProblemFile sections
+ *                  separated by lines of ---); each problem is read and
+ *                  solved as one task of a shared work-stealing pool, so
+ *                  throughput is bounded by CPU rather than JVM startup;
+ *                  each pool thread keeps the working storage of its last
+ *                  run (genes, fitness arrays, cache, history) for the
+ *                  next problem of the same sizes;
+ *                  at most IN_FLIGHT_PER_THREAD problems per thread are
+ *                  read ahead, and results are written to one
+ *                  tab-separated output file in input order, one line
+ *                  per problem (name, best fitness, total weight,
+ *                  generations, seed, selected items numbered from 1),
+ *                  or name, "error" and the reason for a problem that
+ *                  could not be read or solved; each problem keeps its
+ *                  own population_size, maximum_generations and
+ *                  probabilities, the options below apply to all of
+ *                  them; with --seed, problem n is solved with the n-th
+ *                  seed of that seed's generator, so a batch repeats
+ *                  exactly whatever the number of threads
+ * @usage:          java knapsack/BatchSolver <directory|multi_instance_file>
+ *                      <output_file> [--threads <n>] [--seed <seed>]
+ *                      [--selection <name>] [--engine <ga|dp|bnb|auto>]
+ *                      [--seed-fraction <f>] [--repair]
+ *                      [--time-limit <seconds>]
+ */
+
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+public class BatchSolver {
+
+    public static final String SEPARATOR = "---";
+    private static final int IN_FLIGHT_PER_THREAD = 4;
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+    private static final int READ_BUFFER_SIZE = 1 << 13;
+    private static final ThreadLocal<RunScratch> SCRATCH = ThreadLocal.withInitial(RunScratch::new);
+    private final int number_of_threads;
+    private final Long seed;
+    private final String selection_name;
+    private final String engine_name;
+    private final double seed_fraction;
+    private final boolean repair;
+    private final long time_limit;
+    private final GeneticEngine engine = new GeneticEngine();
+    private int solved = 0;
+    private int failed = 0;
+
+
+
+    /**
+     * Main method
+     */
+    public static void main(String[] args) {
+        if(args.length < 2) {
+            System.err.println("Usage: java knapsack/BatchSolver <directory|multi_instance_file> <output_file>"
+                + " [--threads <n>] [--seed <seed>] [--selection <name>] [--engine <ga|dp|bnb|auto>]"
+                + " [--seed-fraction <f>] [--repair] [--time-limit <seconds>]");
+            System.exit(1);
+        }
+        int threads = Runtime.getRuntime().availableProcessors();
+        Long seed = null;
+        String selection_name = "roulette";
+        String engine_name = "ga";
+        double seed_fraction = 0;
+        boolean repair = false;
+        double time_limit = 0;
+        for(int i = 2; i < args.length; i++) {
+            if(args[i].equals("--threads") && (i + 1) < args.length && KnapsackProblem.isInteger(args[i + 1])) {
+                threads = Math.max(1, Integer.parseInt(args[i + 1]));
+                i = i + 1;
+            }
+            else if(args[i].equals("--seed") && (i + 1) < args.length && KnapsackProblem.isLong(args[i + 1])) {
+                seed = Long.parseLong(args[i + 1]);
+                i = i + 1;
+            }
+            else if(args[i].equals("--selection") && (i + 1) < args.length) {
+                selection_name = args[i + 1];
+                i = i + 1;
+            }
+            else if(args[i].equals("--engine") && (i + 1) < args.length) {
+                engine_name = args[i + 1];
+                i = i + 1;
+            }
+            else if(args[i].equals("--seed-fraction") && (i + 1) < args.length
+                    && KnapsackProblem.isDouble(args[i + 1])) {
+                seed_fraction = Double.parseDouble(args[i + 1]);
+                i = i + 1;
+            }
+            else if(args[i].equals("--repair")) {
+                repair = true;
+            }
+            else if(args[i].equals("--time-limit") && (i + 1) < args.length && KnapsackProblem.isDouble(args[i + 1])) {
+                time_limit = Double.parseDouble(args[i + 1]);
+                i = i + 1;
+            }
+            else {
+                System.err.println("Unknown or incomplete option: " + args[i]);
+                System.exit(1);
+            }
+        }
+
+        BatchSolver batch;
+        try {
+            batch = new BatchSolver(threads, seed, selection_name, engine_name, seed_fraction, repair,
+                (long) Math.ceil(time_limit * 1000));
+        }
+        catch(IllegalArgumentException e) {
+            System.err.println("Problem with parameters: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            batch.solve(Paths.get(args[0]), Paths.get(args[1]));
+        }
+        catch(IOException e) {
+            System.err.println("Problem with batch files: " + e.getMessage());
+            System.exit(1);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.err.println("Solved " + batch.solved + " problems (" + batch.failed + " failed) in "
+            + String.format("%.2f", seconds) + " s, "
+            + String.format("%.1f", (batch.solved + batch.failed) / Math.max(seconds, 1e-9)) + " per second");
+        if(batch.failed > 0) {
+            System.exit(1);
+        }
+    }
+
+
+    /**
+     * Constructor with options applied to every problem
+     * @param int - threads solving problems
+     * @param Long - seed of the batch, or null for random seeds
+     * @param String - selection strategy
+     * @param String - engine name: ga, dp, bnb or auto
+     * @param double - fraction of first generation seeded greedily
+     * @param boolean - true to repair genes over capacity
+     * @param long - time limit of each problem in milliseconds; 0 for none
+     */
+    public BatchSolver(int number_of_threads, Long seed, String selection_name, String engine_name,
+            double seed_fraction, boolean repair, long time_limit) {
+        this.number_of_threads = Math.max(1, number_of_threads);
+        this.seed = seed;
+        this.selection_name = selection_name;
+        this.engine_name = engine_name;
+        this.seed_fraction = seed_fraction;
+        this.repair = repair;
+        this.time_limit = time_limit;
+
+        // Check options once, rather than failing every problem
+        configure(new GeneticConfig.Builder().populationSize(2).maximumGenerations(1), 0).build();
+    }
+
+
+    /**
+     * Solves every problem of a directory or multi-instance file
+     * @param Path - directory of problem files, or multi-instance file
+     * @param Path - output file, overwritten
+     */
+    public void solve(Path input, Path output) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(number_of_threads);
+        ArrayDeque<Future<String>> in_flight = new ArrayDeque<>();
+        SplittableRandom seeds = seed != null ? new SplittableRandom(seed) : null;
+        try(Writer out = new BufferedWriter(Files.newBufferedWriter(output, StandardCharsets.UTF_8),
+                OUTPUT_BUFFER_SIZE)) {
+            out.write("# name\tbest_fitness\ttotal_weight\tgenerations\tseed\titems\n");
+            if(Files.isDirectory(input)) {
+                for(Path path : listProblems(input, output)) {
+                    String name = path.getFileName().toString();
+                    long problem_seed = seeds != null ? seeds.nextLong() : 0;
+                    submit(pool, in_flight, out, () -> solveFile(name, path, problem_seed));
+                }
+            }
+            else {
+                String base = input.getFileName().toString();
+                int number = 0;
+                try(BufferedReader in = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+                    StringBuilder section = new StringBuilder();
+                    boolean has_content = false;
+                    String line;
+                    while(true) {
+                        line = in.readLine();
+                        if(line == null || line.trim().equals(SEPARATOR)) {
+                            if(has_content) {
+                                number = number + 1;
+                                String name = base + "#" + number;
+                                String text = section.toString();
+                                long problem_seed = seeds != null ? seeds.nextLong() : 0;
+                                submit(pool, in_flight, out, () -> solveText(name, text, problem_seed));
+                            }
+                            if(line == null) {
+                                break;
+                            }
+                            section.setLength(0);
+                            has_content = false;
+                            continue;
+                        }
+                        section.append(line).append('\n');
+                        String trimmed = line.trim();
+                        has_content = has_content || (!trimmed.isEmpty() && trimmed.charAt(0) != '#');
+                    }
+                }
+            }
+            while(!in_flight.isEmpty()) {
+                write(in_flight.poll(), out);
+            }
+        }
+        finally {
+            for(Future<String> task : in_flight) {
+                task.cancel(true);
+            }
+            pool.shutdown();
+        }
+    }
+
+
+    /**
+     * Queues a problem on the pool, first writing the oldest result while
+     * the read-ahead window is full
+     * @param ForkJoinPool - pool solving problems
+     * @param ArrayDeque<Future<String>> - problems in flight, in input order
+     * @param Writer - output file
+     * @param Callable<String> - task reading and solving the problem
+     */
+    private void submit(ForkJoinPool pool, ArrayDeque<Future<String>> in_flight, Writer out,
+            Callable<String> task) throws IOException {
+        while(in_flight.size() >= number_of_threads * IN_FLIGHT_PER_THREAD) {
+            write(in_flight.poll(), out);
+        }
+        in_flight.add(pool.submit(task));
+    }
+
+
+    /**
+     * Waits for a problem's result line and writes it
+     * @param Future<String> - task of problem
+     * @param Writer - output file
+     */
+    private void write(Future<String> task, Writer out) throws IOException {
+        String line;
+        try {
+            line = task.get();
+        }
+        catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted");
+        }
+        catch(ExecutionException e) {
+            throw new IOException("Solver failed: " + e.getCause(), e.getCause());
+        }
+        if(line.indexOf("\terror\t") >= 0) {
+            failed = failed + 1;
+        }
+        else {
+            solved = solved + 1;
+        }
+        out.write(line);
+    }
+
+
+    /**
+     * Problem files of a directory, in name order; hidden files, other
+     * directories and the output file are left out
+     * @param Path - directory
+     * @param Path - output file
+     * @return List<Path> - files to solve
+     */
+    private static List<Path> listProblems(Path directory, Path output) throws IOException {
+        List<Path> paths = new ArrayList<>();
+        Path skip = output.toAbsolutePath().normalize();
+        try(Stream<Path> files = Files.list(directory)) {
+            files.forEach(path -> {
+                if(Files.isRegularFile(path) && !path.getFileName().toString().startsWith(".")
+                        && !path.toAbsolutePath().normalize().equals(skip)) {
+                    paths.add(path);
+                }
+            });
+        }
+        Collections.sort(paths);
+        return paths;
+    }
+
+
+    /**
+     * Reads and solves a problem file, text or binary
+     * @param String - problem name
+     * @param Path - problem file
+     * @param long - seed, if the batch has one
+     * @return String - result line
+     */
+    private String solveFile(String name, Path path, long problem_seed) {
+        try {
+            if(BinaryProblemFile.isBinary(path)) {
+                return solveProblem(name, BinaryProblemFile.read(path), problem_seed);
+            }
+            long size = Files.size(path);
+            try(BufferedReader in = new BufferedReader(Files.newBufferedReader(path, StandardCharsets.UTF_8),
+                    (int) Math.max(1, Math.min(size + 1, READ_BUFFER_SIZE)))) {
+                return solveProblem(name, ProblemFile.read(in), problem_seed);
+            }
+        }
+        catch(IOException | UncheckedIOException | IllegalArgumentException e) {
+            return errorLine(name, e);
+        }
+    }
+
+
+    /**
+     * Reads and solves a section of a multi-instance file
+     * @param String - problem name
+     * @param String - problem text
+     * @param long - seed, if the batch has one
+     * @return String - result line
+     */
+    private String solveText(String name, String text, long problem_seed) {
+        try {
+            return solveProblem(name, ProblemFile.read(new BufferedReader(new StringReader(text),
+                Math.max(1, Math.min(text.length(), READ_BUFFER_SIZE)))), problem_seed);
+        }
+        catch(IOException | UncheckedIOException | IllegalArgumentException e) {
+            return errorLine(name, e);
+        }
+    }
+
+
+    /**
+     * Solves a problem read, on the calling pool thread
+     * @param String - problem name
+     * @param ProblemFile - problem and its parameters
+     * @param long - seed, if the batch has one
+     * @return String - result line
+     */
+    private String solveProblem(String name, ProblemFile problem, long problem_seed) {
+        KnapsackResult result = engine.solve(problem.toInstance(),
+            configure(problem.toConfig(), problem_seed).build(), GenerationReporter.silent(), SCRATCH.get());
+        StringBuilder line = new StringBuilder(256);
+        line.append(name).append('\t')
+            .append(result.getBestFitness()).append('\t')
+            .append(result.getBestWeight()).append('\t')
+            .append(result.getGenerations()).append('\t')
+            .append(result.getSeed()).append('\t');
+        int[] selected = result.getSelectedItems();
+        for(int i = 0; i < selected.length; i++) {
+            if(i > 0) {
+                line.append(' ');
+            }
+            line.append(selected[i] + 1);
+        }
+        return line.append('\n').toString();
+    }
+
+
+    /**
+     * Adds the batch's options to a problem's parameters
+     * @param GeneticConfig.Builder - problem's parameters
+     * @param long - seed, if the batch has one
+     * @return GeneticConfig.Builder - same builder
+     */
+    private GeneticConfig.Builder configure(GeneticConfig.Builder config, long problem_seed) {
+        config.selection(selection_name)
+            .engine(engine_name)
+            .seedFraction(seed_fraction)
+            .repair(repair)
+            .timeLimit(time_limit);
+        if(seed != null) {
+            config.seed(problem_seed);
+        }
+        return config;
+    }
+
+
+    /**
+     * Result line of a problem that could not be read or solved
+     * @param String - problem name
+     * @param Exception - reason
+     * @return String - error line
+     */
+    private static String errorLine(String name, Exception e) {
+        String message = e instanceof UncheckedIOException ? e.getCause().getMessage() : e.getMessage();
+        return name + "\terror\t" + String.valueOf(message).replace('\t', ' ').replace('\n', ' ') + "\n";
+    }
+
+} // BatchSolver
@@ -0,0 +1,214 @@
+package knapsack;
+
+/**
+ * @filename:       BinaryProblemFile.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Compact binary form of a ProblemFile, for instances too
+ *                  large to parse as text at startup; layout is a 64 byte
+ *                  little-endian header followed by the weight column and
+ *                  then the value column, each number_of_items doubles
+ *                  (or floats, if FLAG_FLOAT is set); files are opened by
+ *                  memory-mapping them and bulk-copying each column into
+ *                  KnapsackItems, with no parsing at all; main method
+ *                  converts a text problem file to binary
+ * @usage:          java BinaryProblemFile [--float] <text_file> <binary_file>
+ *
+ * Header:          offset  0  int     magic, "KNAP"
+ *                  offset  4  int     format version (1)
+ *                  offset  8  int     flags
+ *                  offset 12  int     number of items
+ *                  offset 16  double  knapsack capacity
+ *                  offset 24  int     population size
+ *                  offset 28  int     maximum generations
+ *                  offset 32  double  crossover probability
+ *                  offset 40  double  mutation probability
+ *                  offset 48  -       reserved, 0
+ */
+
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+public class BinaryProblemFile {
+
+    public static final int MAGIC = 0x4B4E4150;
+    public static final int VERSION = 1;
+    public static final int FLAG_FLOAT = 1;
+    public static final int HEADER_SIZE = 64;
+    private static final long MAX_MAPPING = 1L << 30;
+
+
+
+    /**
+     * Main method; converts text problem file to binary
+     */
+    public static void main(String[] args) {
+        boolean use_float = args.length == 3 && args[0].equals("--float");
+        if(args.length != (use_float ? 3 : 2)) {
+            System.err.println("Usage: java knapsack.BinaryProblemFile [--float] <text_file> <binary_file>");
+            System.exit(1);
+        }
+        int first = use_float ? 1 : 0;
+        try {
+            ProblemFile problem = ProblemFile.read(args[first]);
+            write(problem, Paths.get(args[first + 1]), use_float);
+            System.out.println("Wrote " + problem.getItems().size() + " items to " + args[first + 1]);
+        }
+        catch(IOException e) {
+            System.err.println("Problem converting file: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+
+    /**
+     * Checks whether a file starts with the binary format's magic number
+     * @param Path - file to check
+     * @return boolean - true if file is a binary problem file
+     */
+    public static boolean isBinary(Path path) throws IOException {
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            while(magic.hasRemaining()) {
+                if(channel.read(magic) < 0) {
+                    return false;
+                }
+            }
+            return magic.getInt(0) == MAGIC;
+        }
+    }
+
+
+    /**
+     * Opens a binary problem file by memory-mapping it
+     * @param Path - file to read
+     * @return ProblemFile - problem read
+     */
+    public static ProblemFile read(Path path) throws IOException {
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if(channel.size() < HEADER_SIZE) {
+                throw new IOException("Truncated header");
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            if(header.getInt(0) != MAGIC) {
+                throw new IOException("Not a binary problem file");
+            }
+            if(header.getInt(4) != VERSION) {
+                throw new IOException("Unsupported format version " + header.getInt(4));
+            }
+            boolean use_float = (header.getInt(8) & FLAG_FLOAT) != 0;
+            int number_of_items = header.getInt(12);
+            int width = use_float ? 4 : 8;
+            long column_size = (long) number_of_items * width;
+            if(number_of_items < 1 || channel.size() < HEADER_SIZE + 2 * column_size) {
+                throw new IOException("Truncated item columns");
+            }
+
+            // Bulk-copy columns straight out of the mapping
+            double[] weights = readColumn(channel, HEADER_SIZE, number_of_items, use_float);
+            double[] values = readColumn(channel, HEADER_SIZE + column_size, number_of_items, use_float);
+            return new ProblemFile(KnapsackItems.wrap(values, weights), header.getDouble(16),
+                header.getInt(24), header.getInt(28), header.getDouble(32), header.getDouble(40));
+        }
+    }
+
+
+    /**
+     * Writes a problem in binary form
+     * @param ProblemFile - problem to write
+     * @param Path - file to write, overwritten if it exists
+     * @param boolean - store columns as floats instead of doubles
+     */
+    public static void write(ProblemFile problem, Path path, boolean use_float) throws IOException {
+        KnapsackItems items = problem.getItems();
+        int width = use_float ? 4 : 8;
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(0, MAGIC);
+            header.putInt(4, VERSION);
+            header.putInt(8, use_float ? FLAG_FLOAT : 0);
+            header.putInt(12, items.size());
+            header.putDouble(16, problem.getCapacity());
+            header.putInt(24, problem.getPopulationSize());
+            header.putInt(28, problem.getMaximumGenerations());
+            header.putDouble(32, problem.getCrossoverProbability());
+            header.putDouble(40, problem.getMutationProbability());
+            writeFully(channel, header);
+
+            // Columns, written through a reusable direct buffer
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            for(int column = 0; column < 2; column++) {
+                double[] data = column == 0 ? items.weights() : items.values();
+                for(int i = 0; i < items.size(); i++) {
+                    if(buffer.remaining() < width) {
+                        buffer.flip();
+                        writeFully(channel, buffer);
+                        buffer.clear();
+                    }
+                    if(use_float) {
+                        buffer.putFloat((float) data[i]);
+                    }
+                    else {
+                        buffer.putDouble(data[i]);
+                    }
+                }
+            }
+            buffer.flip();
+            writeFully(channel, buffer);
+        }
+    }
+
+
+    /**
+     * Maps a column in chunks of at most MAX_MAPPING bytes and copies it out
+     * @return double[] - column values
+     */
+    private static double[] readColumn(FileChannel channel, long offset, int length,
+            boolean use_float) throws IOException {
+        double[] column = new double[length];
+        int width = use_float ? 4 : 8;
+        int per_chunk = (int) (MAX_MAPPING / width);
+        float[] floats = use_float ? new float[Math.min(length, 1 << 16)] : null;
+        for(int start = 0; start < length; start = start + per_chunk) {
+            int count = Math.min(per_chunk, length - start);
+            MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY,
+                offset + (long) start * width, (long) count * width);
+            chunk.order(ByteOrder.LITTLE_ENDIAN);
+            if(use_float) {
+                FloatBuffer source = chunk.asFloatBuffer();
+                for(int done = 0; done < count; done = done + floats.length) {
+                    int n = Math.min(floats.length, count - done);
+                    source.get(floats, 0, n);
+                    for(int i = 0; i < n; i++) {
+                        column[start + done + i] = floats[i];
+                    }
+                }
+            }
+            else {
+                chunk.asDoubleBuffer().get(column, start, count);
+            }
+        }
+        return column;
+    }
+
+
+    /**
+     * Writes whole buffer to channel
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while(buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+} // BinaryProblemFile
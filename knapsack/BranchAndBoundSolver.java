@@ -0,0 +1,174 @@
+package knapsack;
+
+/**
+ * @filename:       BranchAndBoundSolver.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Exact solver for any weights (Horowitz-Sahni depth-first
+ *                  branch and bound): items are taken in value/weight
+ *                  ratio order (the instance's RatioIndex), each branch
+ *                  first takes as many items in ratio order as fit, and
+ *                  a branch is abandoned once its
+ *                  fractional (LP relaxation) bound, the value of filling
+ *                  the remaining capacity greedily with a fraction of the
+ *                  first item that does not fit, is no better than the
+ *                  best solution found; bounds take O(log n) from prefix
+ *                  sums of sorted weights and values; items of value <= 0
+ *                  are never taken, items of weight <= 0 and value > 0
+ *                  always are; a node limit can stop the search early
+ * @usage:          KnapsackResult result = BranchAndBoundSolver.solve(instance, node_limit);
+ */
+
+
+public final class BranchAndBoundSolver {
+
+
+
+    /**
+     * Not instantiable
+     */
+    private BranchAndBoundSolver() {
+    }
+
+
+    /**
+     * Solves a problem exactly, unless the node limit is reached first
+     * @param KnapsackInstance - problem to solve
+     * @param long - most branches to visit
+     * @return KnapsackResult - optimal solution, or null if node limit reached
+     */
+    public static KnapsackResult solve(KnapsackInstance instance, long node_limit) {
+        KnapsackItems items = instance.getItems();
+        int number_of_items = items.size();
+        Chromosome solution = new Chromosome(number_of_items);
+
+        // Take free items, leave worthless ones, keep the rest in ratio order
+        RatioIndex index = instance.ratioIndex();
+        double capacity = instance.getCapacity();
+        int candidates = 0;
+        int[] order = new int[number_of_items];
+        for(int rank = 0; rank < number_of_items; rank++) {
+            int i = index.item(rank);
+            if(items.value(i) > 0 && items.weight(i) <= 0) {
+                solution.set(i);
+                capacity = capacity - items.weight(i);
+            }
+            else if(items.value(i) > 0) {
+                order[candidates] = i;
+                candidates = candidates + 1;
+            }
+        }
+        double[] weight = new double[candidates];
+        double[] value = new double[candidates];
+        double[] prefix_weight = new double[candidates + 1];
+        double[] prefix_value = new double[candidates + 1];
+        for(int k = 0; k < candidates; k++) {
+            weight[k] = items.weight(order[k]);
+            value[k] = items.value(order[k]);
+            prefix_weight[k + 1] = prefix_weight[k] + weight[k];
+            prefix_value[k + 1] = prefix_value[k] + value[k];
+        }
+
+        // Depth-first search; taken[k] is the current branch's decision
+        boolean[] taken = new boolean[candidates];
+        boolean[] best_taken = new boolean[candidates];
+        double best_value = -1;
+        double current_weight = 0;
+        double current_value = 0;
+        int next = 0;
+        long nodes = 0;
+        while(true) {
+            nodes = nodes + 1;
+            if(nodes > node_limit) {
+                return null;
+            }
+            boolean backtrack;
+            if(current_value + bound(next, capacity - current_weight, weight, value,
+                    prefix_weight, prefix_value) <= best_value) {
+                backtrack = true;
+            }
+            else {
+                // Take items in ratio order while they fit
+                while(next < candidates && weight[next] <= capacity - current_weight) {
+                    current_weight = current_weight + weight[next];
+                    current_value = current_value + value[next];
+                    taken[next] = true;
+                    next = next + 1;
+                }
+                if(next < candidates) {
+                    // Branch leaving out the item that does not fit
+                    taken[next] = false;
+                    next = next + 1;
+                    backtrack = false;
+                }
+                else {
+                    if(current_value > best_value) {
+                        best_value = current_value;
+                        System.arraycopy(taken, 0, best_taken, 0, candidates);
+                    }
+                    backtrack = true;
+                }
+            }
+            if(backtrack) {
+                // Undo last item taken, and branch leaving it out
+                int last = next - 1;
+                while(last >= 0 && !taken[last]) {
+                    last = last - 1;
+                }
+                if(last < 0) {
+                    break;
+                }
+                taken[last] = false;
+                current_weight = current_weight - weight[last];
+                current_value = current_value - value[last];
+                next = last + 1;
+            }
+        }
+
+        // Build solution from best branch
+        for(int k = 0; k < candidates; k++) {
+            if(best_taken[k]) {
+                solution.set(order[k]);
+            }
+        }
+        solution.evaluate(items);
+        return KnapsackResult.exact(solution);
+    }
+
+
+    /**
+     * Fractional bound on value of items [from, n) within a capacity:
+     * whole items in ratio order while they fit, then a fraction of the
+     * next one
+     * @return double - most value that items from position from can add
+     */
+    private static double bound(int from, double capacity, double[] weight, double[] value,
+            double[] prefix_weight, double[] prefix_value) {
+        int candidates = weight.length;
+        if(from >= candidates) {
+            return 0;
+        }
+
+        // Last position end such that items [from, end) fit, by binary search
+        double limit = prefix_weight[from] + capacity;
+        int low = from;
+        int high = candidates;
+        while(low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if(prefix_weight[middle] <= limit) {
+                low = middle;
+            }
+            else {
+                high = middle - 1;
+            }
+        }
+        int end = low;
+        double bound = prefix_value[end] - prefix_value[from];
+        if(end < candidates) {
+            double room = limit - prefix_weight[end];
+            bound = bound + value[end] * room / weight[end];
+        }
+        return bound;
+    }
+
+} // BranchAndBoundSolver
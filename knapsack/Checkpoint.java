@@ -0,0 +1,235 @@
+package knapsack;
+
+/**
+ * @filename:       Checkpoint.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Checkpoint file of a GeneticRun, so a long run can be
+ *                  resumed after it dies; little-endian, laid out as:
+ *                    int MAGIC, int VERSION, int number_of_items,
+ *                    int population_size, double capacity, long hash of
+ *                    item weights and values, long run seed, long seed of
+ *                    random generator, int generations, long genes
+ *                    evaluated, int recent, then
+ *                    per recent generation double mean fitness and double
+ *                    best fitness, then the best solution's double
+ *                    fitness, int generation, double total weight, double
+ *                    total value and packed words, the FitnessHistory,
+ *                    then per gene of the population double total weight,
+ *                    double total value and its packed words
+ *                  the run fills a snapshot buffer between generations
+ *                  (a copy of packed words, cheap next to breeding); the
+ *                  file is written on a background thread, to a temporary
+ *                  file first which is then atomically renamed, so a crash
+ *                  mid-write leaves the previous checkpoint intact; if the
+ *                  previous write is still going, a snapshot is skipped
+ *                  (before it is filled) rather than pausing breeding
+ * @usage:          Used by GeneticRun when the config sets a checkpoint file
+ */
+
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+final class Checkpoint implements AutoCloseable {
+
+    static final int MAGIC = 0x4B4E4350;
+    static final int VERSION = 3;
+    private final Path path;
+    private final Path temporary_path;
+    private ExecutorService writer;
+    private Future<?> pending;
+
+
+
+    /**
+     * Constructor with checkpoint file name
+     * @param String - checkpoint file
+     */
+    Checkpoint(String filename) {
+        this.path = Paths.get(filename);
+        this.temporary_path = path.resolveSibling(path.getFileName() + ".tmp");
+    }
+
+
+    /**
+     * Whether a checkpoint has been written to resume from
+     * @return boolean - true if checkpoint file exists
+     */
+    boolean exists() {
+        return Files.isRegularFile(path);
+    }
+
+
+    /**
+     * Whether the previous snapshot is still being written, so a new one
+     * would be skipped
+     * @return boolean - true if a write is pending
+     */
+    boolean isBusy() {
+        return pending != null && !pending.isDone();
+    }
+
+
+    /**
+     * Makes an empty snapshot buffer, with magic number and version written
+     * @param long - total size of snapshot in bytes
+     * @return ByteBuffer - little-endian buffer to fill
+     */
+    static ByteBuffer allocate(long size) {
+        if(size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Checkpoint of " + size + " bytes is too large");
+        }
+        ByteBuffer snapshot = ByteBuffer.allocate((int) size).order(ByteOrder.LITTLE_ENDIAN);
+        snapshot.putInt(MAGIC);
+        snapshot.putInt(VERSION);
+        return snapshot;
+    }
+
+
+    /**
+     * Writes a gene's packed words into a snapshot
+     * @param ByteBuffer - snapshot
+     * @param Chromosome - gene to write
+     */
+    static void putGene(ByteBuffer snapshot, Chromosome gene) {
+        long[] words = gene.words();
+        snapshot.asLongBuffer().put(words);
+        snapshot.position(snapshot.position() + (words.length << 3));
+    }
+
+
+    /**
+     * Reads a gene's packed words from a snapshot into a gene
+     * @param ByteBuffer - snapshot
+     * @param Chromosome - gene to overwrite
+     */
+    static void getGene(ByteBuffer snapshot, Chromosome gene) {
+        long[] words = gene.words();
+        snapshot.asLongBuffer().get(words);
+        snapshot.position(snapshot.position() + (words.length << 3));
+    }
+
+
+    /**
+     * Writes a filled snapshot to the checkpoint file in the background,
+     * unless the previous snapshot is still being written
+     * @param ByteBuffer - filled snapshot
+     * @return boolean - true if snapshot will be written, false if skipped
+     */
+    boolean save(ByteBuffer snapshot) {
+        if(pending != null) {
+            if(!pending.isDone()) {
+                return false;
+            }
+            await();
+        }
+        if(writer == null) {
+            writer = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "knapsack-checkpoint");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        snapshot.flip();
+        pending = writer.submit(() -> {
+            write(snapshot);
+            return null;
+        });
+        return true;
+    }
+
+
+    /**
+     * Reads the checkpoint file
+     * @return ByteBuffer - snapshot, positioned after magic number and version
+     */
+    ByteBuffer load() throws IOException {
+        ByteBuffer snapshot = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+        if(snapshot.remaining() < 8 || snapshot.getInt() != MAGIC) {
+            throw new IOException(path + " is not a checkpoint file");
+        }
+        int version = snapshot.getInt();
+        if(version != VERSION) {
+            throw new IOException("Unsupported checkpoint version " + version);
+        }
+        return snapshot;
+    }
+
+
+    /**
+     * Waits for the last snapshot to be written, and stops the writer
+     */
+    @Override
+    public void close() {
+        try {
+            if(pending != null) {
+                await();
+            }
+        }
+        finally {
+            if(writer != null) {
+                writer.shutdown();
+            }
+        }
+    }
+
+
+    /**
+     * Waits for the pending write, passing on its failure
+     */
+    private void await() {
+        try {
+            pending.get();
+        }
+        catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted writing checkpoint", e);
+        }
+        catch(ExecutionException e) {
+            if(e.getCause() instanceof IOException) {
+                throw new UncheckedIOException((IOException) e.getCause());
+            }
+            throw new IllegalStateException("Problem writing checkpoint", e.getCause());
+        }
+        finally {
+            pending = null;
+        }
+    }
+
+
+    /**
+     * Writes snapshot to temporary file, syncs it to disk and renames it
+     * over the checkpoint file
+     * @param ByteBuffer - snapshot, ready to read
+     */
+    private void write(ByteBuffer snapshot) throws IOException {
+        try(FileChannel channel = FileChannel.open(temporary_path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while(snapshot.hasRemaining()) {
+                channel.write(snapshot);
+            }
+            channel.force(true);
+        }
+        try {
+            Files.move(temporary_path, path, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch(AtomicMoveNotSupportedException e) {
+            Files.move(temporary_path, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+} // Checkpoint
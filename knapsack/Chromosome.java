@@ -0,0 +1,477 @@
+package knapsack;
+
+/**
+ * @filename:       Chromosome.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Bit-packed gene used by KnapsackProblem; chromosome i
+ *                  (1 = item i included in knapsack) is stored as bit
+ *                  (i % 64) of words[i / 64], so a gene of n items takes
+ *                  n / 8 bytes instead of n chars; unused high bits of the
+ *                  last word are always kept at 0, so word-level operations
+ *                  (popcount, copying, crossover) never need extra masking;
+ *                  each gene also carries the total weight and value of the
+ *                  items it selects, kept up to date incrementally when it
+ *                  is cloned, crossed over or mutated, so most genes never
+ *                  need a full evaluation pass over their items
+ */
+
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+public class Chromosome {
+
+    private final int length;
+    private final long[] words;
+    private boolean totals_known = false;
+    private double total_weight = 0;
+    private double total_value = 0;
+    private boolean prefix_known = false;
+    private double[] prefix_weight;
+    private double[] prefix_value;
+
+
+
+    /**
+     * Default constructor; all chromosomes start as 0
+     * @param int - number of chromosomes (items) in gene
+     */
+    public Chromosome(int length) {
+        this.length = length;
+        this.words = new long[(length + 63) >>> 6];
+    }
+
+
+    /**
+     * Generates a single random gene, each chromosome 1 or 0 with equal
+     * probability, 64 chromosomes at a time
+     * @param int - number of chromosomes (items) in gene
+     * @param SplittableRandom - source of random bits
+     * @return Chromosome - a randomly generated gene
+     */
+    public static Chromosome random(int length, SplittableRandom generator) {
+        Chromosome gene = new Chromosome(length);
+        gene.randomize(generator);
+        return gene;
+    }
+
+
+    /**
+     * Sets every chromosome at random in place, drawing the same bits as
+     * random() would for a new gene
+     * @param SplittableRandom - source of random bits
+     */
+    void randomize(SplittableRandom generator) {
+        for(int i = 0; i < words.length; i++) {
+            words[i] = generator.nextLong();
+        }
+        clearUnusedBits();
+        invalidate();
+    }
+
+
+    /**
+     * Sets every chromosome to 0 in place, as in a new gene
+     */
+    void clearAll() {
+        Arrays.fill(words, 0);
+        invalidate();
+    }
+
+
+    /**
+     * Number of chromosomes (items) in gene
+     * @return int - gene length
+     */
+    public int length() {
+        return length;
+    }
+
+
+    /**
+     * Gets a single chromosome
+     * @param int - chromosome position
+     * @return boolean - true if chromosome is a 1
+     */
+    public boolean get(int position) {
+        return (words[position >>> 6] & (1L << position)) != 0;
+    }
+
+
+    /**
+     * Sets a single chromosome to 1
+     * @param int - chromosome position
+     */
+    public void set(int position) {
+        words[position >>> 6] |= 1L << position;
+        invalidate();
+    }
+
+
+    /**
+     * Sets a single chromosome to 0
+     * @param int - chromosome position
+     */
+    public void clear(int position) {
+        words[position >>> 6] &= ~(1L << position);
+        invalidate();
+    }
+
+
+    /**
+     * Flips a single chromosome (1 becomes 0, 0 becomes 1)
+     * @param int - chromosome position
+     */
+    public void flip(int position) {
+        words[position >>> 6] ^= 1L << position;
+        invalidate();
+    }
+
+
+    /**
+     * Flips a single chromosome, adding or removing the item's weight and
+     * value from the gene's totals instead of forgetting them
+     * @param int - chromosome position
+     * @param KnapsackItems - items the gene selects from
+     */
+    public void flip(int position, KnapsackItems items) {
+        boolean known = totals_known;
+        flip(position);
+        if(known) {
+            double sign = get(position) ? 1 : -1;
+            total_weight = total_weight + sign * items.weight(position);
+            total_value = total_value + sign * items.value(position);
+            totals_known = true;
+        }
+    }
+
+
+    /**
+     * Counts chromosomes set to 1
+     * @return int - number of items selected by gene
+     */
+    public int cardinality() {
+        int count = 0;
+        for(int i = 0; i < words.length; i++) {
+            count = count + Long.bitCount(words[i]);
+        }
+        return count;
+    }
+
+
+    /**
+     * Finds next chromosome set to 1, starting at (and including) position
+     * @param int - position to start search from
+     * @return int - position of next 1, or -1 if there is none
+     */
+    public int nextSetBit(int position) {
+        if(position >= length) {
+            return -1;
+        }
+        int index = position >>> 6;
+        long word = words[index] & (-1L << position);
+        while(word == 0) {
+            index = index + 1;
+            if(index == words.length) {
+                return -1;
+            }
+            word = words[index];
+        }
+        return (index << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+
+    /**
+     * Overwrites this gene with a copy of another gene of equal length
+     * @param Chromosome - gene to copy
+     */
+    public void copyFrom(Chromosome other) {
+        System.arraycopy(other.words, 0, words, 0, words.length);
+        invalidate();
+        totals_known = other.totals_known;
+        total_weight = other.total_weight;
+        total_value = other.total_value;
+    }
+
+
+    /**
+     * Overwrites this gene with the single-point crossover of two genes:
+     * chromosomes before cross_point come from head, the rest from tail
+     * @param Chromosome - gene supplying chromosomes [0, cross_point)
+     * @param Chromosome - gene supplying chromosomes [cross_point, length)
+     * @param int - cross point, between 0 and length inclusive
+     */
+    public void crossover(Chromosome head, Chromosome tail, int cross_point) {
+        int word = cross_point >>> 6;
+        System.arraycopy(head.words, 0, words, 0, word);
+        if(word < words.length) {
+            // Boundary word takes its low bits from head, high bits from tail
+            long mask = (1L << (cross_point & 63)) - 1;
+            words[word] = (head.words[word] & mask) | (tail.words[word] & ~mask);
+            System.arraycopy(tail.words, word + 1, words, word + 1, words.length - word - 1);
+        }
+        invalidate();
+    }
+
+
+    /**
+     * Single-point crossover which also derives the new gene's totals from
+     * prefix sums over its parents: weight = head's weight before
+     * cross_point + tail's weight from cross_point on (likewise for value);
+     * parents' prefix sums are built once and reused for every crossover
+     * they take part in until they are overwritten
+     * @param Chromosome - gene supplying chromosomes [0, cross_point)
+     * @param Chromosome - gene supplying chromosomes [cross_point, length)
+     * @param int - cross point, between 0 and length inclusive
+     * @param KnapsackItems - items the genes select from
+     */
+    public void crossover(Chromosome head, Chromosome tail, int cross_point, KnapsackItems items) {
+        crossover(head, tail, cross_point);
+        head.buildPrefixSums(items);
+        tail.buildPrefixSums(items);
+        int end = tail.words.length;
+        total_weight = head.prefixWeight(cross_point, items)
+            + tail.prefix_weight[end] - tail.prefixWeight(cross_point, items);
+        total_value = head.prefixValue(cross_point, items)
+            + tail.prefix_value[end] - tail.prefixValue(cross_point, items);
+        totals_known = true;
+    }
+
+
+    /**
+     * Sums weight and value of selected items, unless already known
+     * @param KnapsackItems - items the gene selects from
+     */
+    public void evaluate(KnapsackItems items) {
+        if(totals_known) {
+            return;
+        }
+        double weight = 0;
+        double value = 0;
+        double[] weight_of_items = items.weights();
+        double[] value_of_items = items.values();
+        for(int w = 0; w < words.length; w++) {
+            long word = words[w];
+            // Visit only chromosomes that are '1', lowest first
+            while(word != 0) {
+                int j = (w << 6) + Long.numberOfTrailingZeros(word);
+                weight = weight + weight_of_items[j];
+                value = value + value_of_items[j];
+                word = word & (word - 1);
+            }
+        }
+        total_weight = weight;
+        total_value = value;
+        totals_known = true;
+    }
+
+
+    /**
+     * Sums weight and value of selected items afresh, even if known,
+     * dropping rounding error gathered by incremental updates
+     * @param KnapsackItems - items the gene selects from
+     */
+    public void reevaluate(KnapsackItems items) {
+        totals_known = false;
+        evaluate(items);
+    }
+
+
+    /**
+     * Whether total weight and value are known without evaluating
+     * @return boolean - true if totals are up to date
+     */
+    public boolean hasTotals() {
+        return totals_known;
+    }
+
+
+    /**
+     * Total weight of selected items; only valid after evaluate()
+     * @return double - total weight
+     */
+    public double totalWeight() {
+        return total_weight;
+    }
+
+
+    /**
+     * Total value of selected items; only valid after evaluate()
+     * @return double - total value
+     */
+    public double totalValue() {
+        return total_value;
+    }
+
+
+    /**
+     * Makes an independent copy of this gene
+     * @return Chromosome - copy of gene
+     */
+    public Chromosome copy() {
+        Chromosome gene = new Chromosome(length);
+        gene.copyFrom(this);
+        return gene;
+    }
+
+
+    /**
+     * Number of chromosomes that differ from another gene of the same
+     * length (Hamming distance), a word at a time
+     * @param Chromosome - gene to compare with
+     * @return int - number of differing chromosomes
+     */
+    public int distance(Chromosome other) {
+        int distance = 0;
+        for(int w = 0; w < words.length; w++) {
+            distance = distance + Long.bitCount(words[w] ^ other.words[w]);
+        }
+        return distance;
+    }
+
+
+    /**
+     * Gives direct access to packed words, for evaluation loops
+     * @return long[] - backing words of gene
+     */
+    long[] words() {
+        return words;
+    }
+
+
+    /**
+     * Fast 64-bit hash of the chromosomes, mixing in one word at a time
+     * @return long - hash of gene
+     */
+    long hash64() {
+        long hash = length;
+        for(int i = 0; i < words.length; i++) {
+            hash = (hash ^ words[i]) * 0x9E3779B97F4A7C15L;
+            hash = hash ^ (hash >>> 29);
+        }
+        // Final avalanche, so every bit of the hash depends on every word
+        hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+        hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+
+
+    /**
+     * Sets totals known to be right for the current chromosomes, e.g.
+     * saved with them in a checkpoint
+     * @param double - total weight
+     * @param double - total value
+     */
+    void restoreTotals(double weight, double value) {
+        total_weight = weight;
+        total_value = value;
+        totals_known = true;
+    }
+
+
+    /**
+     * Forgets totals and prefix sums after chromosomes have changed
+     */
+    private void invalidate() {
+        totals_known = false;
+        prefix_known = false;
+    }
+
+
+    /**
+     * Builds weight and value sums of selected items before each word,
+     * with the full totals in the last entry; arrays are reused
+     * @param KnapsackItems - items the gene selects from
+     */
+    private void buildPrefixSums(KnapsackItems items) {
+        if(prefix_known) {
+            return;
+        }
+        if(prefix_weight == null) {
+            prefix_weight = new double[words.length + 1];
+            prefix_value = new double[words.length + 1];
+        }
+        double weight = 0;
+        double value = 0;
+        double[] weight_of_items = items.weights();
+        double[] value_of_items = items.values();
+        for(int w = 0; w < words.length; w++) {
+            prefix_weight[w] = weight;
+            prefix_value[w] = value;
+            long word = words[w];
+            while(word != 0) {
+                int j = (w << 6) + Long.numberOfTrailingZeros(word);
+                weight = weight + weight_of_items[j];
+                value = value + value_of_items[j];
+                word = word & (word - 1);
+            }
+        }
+        prefix_weight[words.length] = weight;
+        prefix_value[words.length] = value;
+        prefix_known = true;
+    }
+
+
+    /**
+     * Weight of selected items before position, from prefix sums
+     * @return double - weight of chromosomes [0, position)
+     */
+    private double prefixWeight(int position, KnapsackItems items) {
+        int w = position >>> 6;
+        if(w == words.length) {
+            return prefix_weight[w];
+        }
+        double weight = prefix_weight[w];
+        long word = words[w] & ((1L << (position & 63)) - 1);
+        while(word != 0) {
+            weight = weight + items.weight((w << 6) + Long.numberOfTrailingZeros(word));
+            word = word & (word - 1);
+        }
+        return weight;
+    }
+
+
+    /**
+     * Value of selected items before position, from prefix sums
+     * @return double - value of chromosomes [0, position)
+     */
+    private double prefixValue(int position, KnapsackItems items) {
+        int w = position >>> 6;
+        if(w == words.length) {
+            return prefix_value[w];
+        }
+        double value = prefix_value[w];
+        long word = words[w] & ((1L << (position & 63)) - 1);
+        while(word != 0) {
+            value = value + items.value((w << 6) + Long.numberOfTrailingZeros(word));
+            word = word & (word - 1);
+        }
+        return value;
+    }
+
+
+    /**
+     * Makes sure bits past the last chromosome stay 0
+     */
+    private void clearUnusedBits() {
+        if((length & 63) != 0) {
+            words[words.length - 1] &= -1L >>> (64 - (length & 63));
+        }
+    }
+
+
+    /**
+     * Gene as a String of 1s and 0s, chromosome 0 first
+     * @return String - printable gene
+     */
+    @Override
+    public String toString() {
+        StringBuilder gene = new StringBuilder(length);
+        for(int i = 0; i < length; i++) {
+            gene.append(get(i) ? '1' : '0');
+        }
+        return gene.toString();
+    }
+
+} // Chromosome
@@ -0,0 +1,139 @@
+package knapsack;
+
+/**
+ * @filename:       DoubleSeries.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Growable list of primitive doubles, used for
+ *                  per-generation history (mean and best fitness by
+ *                  generation) without boxing every value; a bounded
+ *                  series keeps only its most recent values (at least
+ *                  retain of them), but size() still counts every value
+ *                  added, so positions stay generation numbers
+ */
+
+
+import java.util.Arrays;
+
+public class DoubleSeries {
+
+    private int size = 0;
+    private int retain = 0;
+    private int dropped = 0;
+    private double[] data;
+
+
+
+    /**
+     * Default constructor
+     */
+    public DoubleSeries() {
+        this(16);
+    }
+
+
+    /**
+     * Constructor with expected number of values, to avoid regrowing
+     * @param int - initial capacity
+     */
+    public DoubleSeries(int initial_capacity) {
+        this.data = new double[Math.max(initial_capacity, 1)];
+    }
+
+
+    /**
+     * Series keeping only recent values, in fixed memory
+     * @param int - number of most recent values always kept
+     * @return DoubleSeries - bounded series
+     */
+    public static DoubleSeries bounded(int retain) {
+        DoubleSeries series = new DoubleSeries(2 * Math.max(retain, 1));
+        series.retain = Math.max(retain, 1);
+        return series;
+    }
+
+
+    /**
+     * Appends a value to the end of the series
+     * @param double - value to append
+     */
+    public void add(double value) {
+        if(size - dropped == data.length) {
+            if(retain > 0) {
+                // Drop oldest values, keeping the last retain
+                System.arraycopy(data, data.length - retain, data, 0, retain);
+                dropped = dropped + data.length - retain;
+            }
+            else {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+        }
+        data[size - dropped] = value;
+        size = size + 1;
+    }
+
+
+    /**
+     * Empties the series, keeping its storage for reuse
+     */
+    void clear() {
+        size = 0;
+        dropped = 0;
+    }
+
+
+    /**
+     * Counts values as added to an empty bounded series without keeping
+     * them, e.g. before adding the recent values of a restored run
+     * @param int - number of values skipped
+     */
+    void skip(int count) {
+        if(retain == 0 || size > 0) {
+            throw new IllegalStateException("Only an empty bounded series can skip values");
+        }
+        dropped = count;
+        size = count;
+    }
+
+
+    /**
+     * Gets a single value
+     * @param int - position of value
+     * @return double - value at position
+     */
+    public double get(int position) {
+        if(position >= size || position < dropped) {
+            throw new IndexOutOfBoundsException("Index: " + position + ", Size: " + size
+                + (dropped > 0 ? ", first kept: " + dropped : ""));
+        }
+        return data[position - dropped];
+    }
+
+
+    /**
+     * Position of oldest value kept; 0 unless bounded
+     * @return int - first position get() accepts
+     */
+    public int first() {
+        return dropped;
+    }
+
+
+    /**
+     * Number of values in series
+     * @return int - size of series
+     */
+    public int size() {
+        return size;
+    }
+
+
+    /**
+     * Copies values kept into a new array, all size() of them unless bounded
+     * @return double[] - values of series from first()
+     */
+    public double[] toArray() {
+        return Arrays.copyOf(data, size - dropped);
+    }
+
+} // DoubleSeries
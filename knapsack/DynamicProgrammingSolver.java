@@ -0,0 +1,124 @@
+package knapsack;
+
+/**
+ * @filename:       DynamicProgrammingSolver.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Exact solver for problems whose item weights are whole
+ *                  numbers: best[c] holds the best value of items seen so
+ *                  far within capacity c, updated item by item in one
+ *                  rolling array (capacities high to low, so each item is
+ *                  used at most once); whether each item improved each
+ *                  capacity is kept as one bit, n * (capacity + 1) bits in
+ *                  all, from which the chosen items are read back; time is
+ *                  O(n * capacity) whatever the values, and the rolling
+ *                  array takes 8 * (capacity + 1) bytes however few the
+ *                  items, so capacity is limited on its own as well
+ * @usage:          if(DynamicProgrammingSolver.isApplicable(instance, limit)) {
+ *                      KnapsackResult result = DynamicProgrammingSolver.solve(instance);
+ *                  }
+ */
+
+
+public final class DynamicProgrammingSolver {
+
+    private static final long MAXIMUM_CELLS = 1L << 33;
+    private static final long MAXIMUM_ROW_BYTES = 1L << 28;
+
+
+
+    /**
+     * Not instantiable
+     */
+    private DynamicProgrammingSolver() {
+    }
+
+
+    /**
+     * Whether a problem can be solved by dynamic programming within a
+     * number of cells (items times capacities)
+     * @param KnapsackInstance - problem to check
+     * @param long - most cells allowed
+     * @return boolean - true if weights are whole numbers >= 0 and cells fit
+     */
+    public static boolean isApplicable(KnapsackInstance instance, long cell_limit) {
+        return isApplicable(instance, cell_limit, MAXIMUM_ROW_BYTES);
+    }
+
+
+    /**
+     * Whether a problem can be solved by dynamic programming within a
+     * number of cells (items times capacities) and a size of rolling array
+     * @param KnapsackInstance - problem to check
+     * @param long - most cells allowed
+     * @param long - most bytes of rolling array, 8 * (capacity + 1)
+     * @return boolean - true if weights are whole numbers >= 0, cells and array fit
+     */
+    public static boolean isApplicable(KnapsackInstance instance, long cell_limit, long row_byte_limit) {
+        double capacity = Math.floor(instance.getCapacity());
+        if(capacity < 0 || 8 * (capacity + 1) > Math.min(row_byte_limit, MAXIMUM_ROW_BYTES)) {
+            return false;
+        }
+        int number_of_items = instance.size();
+        double[] weights = instance.getItems().weights();
+        for(int i = 0; i < number_of_items; i++) {
+            if(weights[i] < 0 || weights[i] != Math.floor(weights[i]) || Double.isInfinite(weights[i])) {
+                return false;
+            }
+        }
+        return (long) number_of_items * ((long) capacity + 1) <= Math.min(cell_limit, MAXIMUM_CELLS);
+    }
+
+
+    /**
+     * Solves a problem exactly
+     * @param KnapsackInstance - problem to solve; weights must be whole numbers >= 0
+     * @return KnapsackResult - optimal solution
+     */
+    public static KnapsackResult solve(KnapsackInstance instance) {
+        if(!isApplicable(instance, MAXIMUM_CELLS)) {
+            throw new IllegalArgumentException("Dynamic programming needs whole, non-negative weights"
+                + ", at most " + MAXIMUM_CELLS + " items times capacities and a capacity of at most "
+                + (MAXIMUM_ROW_BYTES / 8 - 1));
+        }
+        KnapsackItems items = instance.getItems();
+        double[] weights = items.weights();
+        double[] values = items.values();
+        int number_of_items = items.size();
+        int capacity = (int) Math.floor(instance.getCapacity());
+
+        // Rolling best values, and one row of decision bits per item
+        double[] best = new double[capacity + 1];
+        int row_words = (capacity + 64) >>> 6;
+        long[] taken = new long[(int) ((long) number_of_items * row_words)];
+        for(int i = 0; i < number_of_items; i++) {
+            int weight = (int) weights[i];
+            double value = values[i];
+            if(value <= 0 || weight > capacity) {
+                continue;
+            }
+            long row = (long) i * row_words;
+            for(int c = capacity; c >= weight; c--) {
+                double with_item = best[c - weight] + value;
+                if(with_item > best[c]) {
+                    best[c] = with_item;
+                    taken[(int) (row + (c >>> 6))] |= 1L << c;
+                }
+            }
+        }
+
+        // Read back chosen items, last item first
+        Chromosome solution = new Chromosome(number_of_items);
+        int c = capacity;
+        for(int i = number_of_items - 1; i >= 0; i--) {
+            long row = (long) i * row_words;
+            if((taken[(int) (row + (c >>> 6))] & (1L << c)) != 0) {
+                solution.set(i);
+                c = c - (int) weights[i];
+            }
+        }
+        solution.evaluate(items);
+        return KnapsackResult.exact(solution);
+    }
+
+} // DynamicProgrammingSolver
@@ -0,0 +1,186 @@
+package knapsack;
+
+/**
+ * @filename:       EngineMetrics.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Totals of RunMetrics over all runs of a GeneticEngine,
+ *                  added to concurrently by the runs (one LongAdder per
+ *                  timer or counter, so runs never contend on a lock) and
+ *                  read through JMX; registered with the platform MBean
+ *                  server the first time a run publishes, unregistered
+ *                  when the engine is closed
+ */
+
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+final class EngineMetrics implements EngineMetricsMXBean {
+
+    private static final AtomicInteger engine_count = new AtomicInteger();
+    private final LongAdder[] totals = new LongAdder[RunMetrics.NAMES.length];
+    private final LongAdder runs = new LongAdder();
+    private ObjectName name;
+
+
+
+    /**
+     * Default constructor
+     */
+    EngineMetrics() {
+        for(int i = 0; i < totals.length; i++) {
+            totals[i] = new LongAdder();
+        }
+    }
+
+
+    /**
+     * Counts a run starting, registering with JMX on the first one
+     */
+    synchronized void runStarted() {
+        runs.increment();
+        if(name == null) {
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                name = new ObjectName("knapsack:type=GeneticEngine,name=engine-"
+                    + engine_count.incrementAndGet());
+                server.registerMBean(this, name);
+            }
+            catch(JMException e) {
+                // Metrics still count without JMX; don't retry every run
+                System.err.println("Could not register engine metrics: " + e.getMessage());
+            }
+        }
+    }
+
+
+    /**
+     * Adds to a timer or counter
+     * @param int - index, as in RunMetrics
+     * @param long - amount to add
+     */
+    void add(int index, long amount) {
+        if(amount != 0) {
+            totals[index].add(amount);
+        }
+    }
+
+
+    /**
+     * Unregisters from JMX
+     */
+    synchronized void unregister() {
+        if(name != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+            }
+            catch(JMException e) {
+                // Already gone
+            }
+        }
+    }
+
+
+    // Getters, documented in EngineMetricsMXBean
+
+    @Override
+    public long getRuns() {
+        return runs.sum();
+    }
+
+
+    @Override
+    public long getGenerations() {
+        return totals[RunMetrics.GENERATIONS].sum();
+    }
+
+
+    @Override
+    public long getEvaluations() {
+        return totals[RunMetrics.EVALUATIONS].sum();
+    }
+
+
+    @Override
+    public long getEvaluationsPerSecond() {
+        return RunMetrics.perSecond(getEvaluations(), getGenerationNanos());
+    }
+
+
+    @Override
+    public long getCrossovers() {
+        return totals[RunMetrics.CROSSOVERS].sum();
+    }
+
+
+    @Override
+    public long getClones() {
+        return totals[RunMetrics.CLONES].sum();
+    }
+
+
+    @Override
+    public long getMutations() {
+        return totals[RunMetrics.MUTATIONS].sum();
+    }
+
+
+    @Override
+    public long getCacheHits() {
+        return totals[RunMetrics.CACHE_HITS].sum();
+    }
+
+
+    @Override
+    public long getCacheMisses() {
+        return totals[RunMetrics.CACHE_MISSES].sum();
+    }
+
+
+    @Override
+    public long getAllocatedBytes() {
+        return totals[RunMetrics.ALLOCATED_BYTES].sum();
+    }
+
+
+    @Override
+    public long getSelectionNanos() {
+        return totals[RunMetrics.SELECTION_NANOS].sum();
+    }
+
+
+    @Override
+    public long getCrossoverNanos() {
+        return totals[RunMetrics.CROSSOVER_NANOS].sum();
+    }
+
+
+    @Override
+    public long getMutationNanos() {
+        return totals[RunMetrics.MUTATION_NANOS].sum();
+    }
+
+
+    @Override
+    public long getEvaluationNanos() {
+        return totals[RunMetrics.EVALUATION_NANOS].sum();
+    }
+
+
+    @Override
+    public long getReportingNanos() {
+        return totals[RunMetrics.REPORTING_NANOS].sum();
+    }
+
+
+    @Override
+    public long getGenerationNanos() {
+        return totals[RunMetrics.GENERATION_NANOS].sum();
+    }
+
+} // EngineMetrics
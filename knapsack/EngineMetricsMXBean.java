@@ -0,0 +1,96 @@
+package knapsack;
+
+/**
+ * @filename:       EngineMetricsMXBean.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    JMX view of a GeneticEngine's metrics, totals over all
+ *                  its runs with stats switched on, updated every
+ *                  generation; registered as
+ *                  knapsack:type=GeneticEngine,name=engine-<n>
+ */
+
+
+public interface EngineMetricsMXBean {
+
+    /**
+     * @return long - runs started
+     */
+    long getRuns();
+
+    /**
+     * @return long - generations bred
+     */
+    long getGenerations();
+
+    /**
+     * @return long - genes evaluated
+     */
+    long getEvaluations();
+
+    /**
+     * @return long - genes evaluated per second of generation time
+     */
+    long getEvaluationsPerSecond();
+
+    /**
+     * @return long - crossovers performed
+     */
+    long getCrossovers();
+
+    /**
+     * @return long - clonings performed
+     */
+    long getClones();
+
+    /**
+     * @return long - mutations performed
+     */
+    long getMutations();
+
+    /**
+     * @return long - fitness cache hits
+     */
+    long getCacheHits();
+
+    /**
+     * @return long - fitness cache misses
+     */
+    long getCacheMisses();
+
+    /**
+     * @return long - bytes allocated by breeding threads
+     */
+    long getAllocatedBytes();
+
+    /**
+     * @return long - nanoseconds selecting genes
+     */
+    long getSelectionNanos();
+
+    /**
+     * @return long - nanoseconds crossing over and cloning genes
+     */
+    long getCrossoverNanos();
+
+    /**
+     * @return long - nanoseconds mutating genes
+     */
+    long getMutationNanos();
+
+    /**
+     * @return long - nanoseconds evaluating genes
+     */
+    long getEvaluationNanos();
+
+    /**
+     * @return long - nanoseconds summarizing and reporting generations
+     */
+    long getReportingNanos();
+
+    /**
+     * @return long - nanoseconds breeding whole generations
+     */
+    long getGenerationNanos();
+
+} // EngineMetricsMXBean
@@ -0,0 +1,164 @@
+package knapsack;
+
+/**
+ * @filename:       FitnessCache.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Bounded cache of gene totals (weight and value of
+ *                  selected items), so a migrating gene whose chromosomes
+ *                  have been summed before is not summed item by item
+ *                  again; entries keep a copy of the gene's packed words,
+ *                  found through a 64-bit hash and compared in full; the
+ *                  table is split into sets of WAYS entries, a gene can
+ *                  only live in the set its hash picks, and a full set
+ *                  evicts by CLOCK (second chance: a hand sweeps the set,
+ *                  clearing referenced bits, and evicts the first entry
+ *                  not referenced since the last sweep); genes whose
+ *                  totals are already known skip the cache; counts of
+ *                  hits, misses and known totals are kept until taken,
+ *                  once per generation; used by one thread at a time
+ * @usage:          FitnessCache cache = new FitnessCache(4096);
+ *                  cache.evaluate(gene, items);
+ */
+
+
+import java.util.Arrays;
+
+final class FitnessCache {
+
+    private static final int WAYS = 8;
+    private final int set_mask;
+    private final long[] keys;
+    private final long[][] genes;
+    private final double[] weights;
+    private final double[] values;
+    private final boolean[] used;
+    private final boolean[] referenced;
+    private final int[] hands;
+    private long hits = 0;
+    private long misses = 0;
+    private long known = 0;
+
+
+
+    /**
+     * Default constructor
+     * @param int - number of entries, rounded up to a power of 2 (at least WAYS)
+     */
+    FitnessCache(int capacity) {
+        int sets = Integer.highestOneBit(Math.max(1, (capacity + WAYS - 1) / WAYS));
+        if(sets * WAYS < capacity) {
+            sets = sets << 1;
+        }
+        this.set_mask = sets - 1;
+        this.keys = new long[sets * WAYS];
+        this.genes = new long[sets * WAYS][];
+        this.weights = new double[sets * WAYS];
+        this.values = new double[sets * WAYS];
+        this.used = new boolean[sets * WAYS];
+        this.referenced = new boolean[sets * WAYS];
+        this.hands = new int[sets];
+    }
+
+
+    /**
+     * Makes sure a gene's totals are known: kept if already known, taken
+     * from the cache if its chromosomes were seen before, otherwise
+     * summed item by item and cached
+     * @param Chromosome - gene to evaluate
+     * @param KnapsackItems - items the gene selects from
+     */
+    void evaluate(Chromosome gene, KnapsackItems items) {
+        if(gene.hasTotals()) {
+            known = known + 1;
+            return;
+        }
+        long key = gene.hash64();
+        long[] words = gene.words();
+        int slot = find(key, words);
+        if(slot >= 0) {
+            referenced[slot] = true;
+            gene.restoreTotals(weights[slot], values[slot]);
+            hits = hits + 1;
+            return;
+        }
+        misses = misses + 1;
+        gene.evaluate(items);
+        slot = victim((int) (key >>> 32) & set_mask);
+        if(genes[slot] == null || genes[slot].length != words.length) {
+            genes[slot] = new long[words.length];
+        }
+        System.arraycopy(words, 0, genes[slot], 0, words.length);
+        keys[slot] = key;
+        weights[slot] = gene.totalWeight();
+        values[slot] = gene.totalValue();
+        used[slot] = true;
+        referenced[slot] = false;
+    }
+
+
+    /**
+     * Empties the cache and resets its counts, for reuse by another run
+     */
+    void clear() {
+        Arrays.fill(used, false);
+        Arrays.fill(referenced, false);
+        Arrays.fill(hands, 0);
+        takeCounts();
+    }
+
+
+    /**
+     * Takes counts since last taken, and resets them
+     * @return long[] - hits, misses and genes with totals already known
+     */
+    long[] takeCounts() {
+        long[] counts = new long[] { hits, misses, known };
+        hits = 0;
+        misses = 0;
+        known = 0;
+        return counts;
+    }
+
+
+    /**
+     * Finds a gene in the set of its hash
+     * @param long - hash of gene
+     * @param long[] - packed words of gene
+     * @return int - slot holding gene, or -1 if not cached
+     */
+    private int find(long key, long[] words) {
+        int first = ((int) (key >>> 32) & set_mask) * WAYS;
+        for(int slot = first; slot < first + WAYS; slot++) {
+            if(used[slot] && keys[slot] == key && Arrays.equals(genes[slot], words)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+
+    /**
+     * Picks slot of a set for a new key: an empty slot if there is one,
+     * otherwise the CLOCK victim
+     * @param int - set number
+     * @return int - slot to overwrite
+     */
+    private int victim(int set) {
+        int first = set * WAYS;
+        for(int slot = first; slot < first + WAYS; slot++) {
+            if(!used[slot]) {
+                return slot;
+            }
+        }
+        while(true) {
+            int slot = first + hands[set];
+            hands[set] = (hands[set] + 1) % WAYS;
+            if(!referenced[slot]) {
+                return slot;
+            }
+            referenced[slot] = false;
+        }
+    }
+
+} // FitnessCache
@@ -0,0 +1,442 @@
+package knapsack;
+
+/**
+ * @filename:       FitnessHistory.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Bounded history of mean and best fitness by generation:
+ *                  at most capacity points, each summarizing span
+ *                  consecutive generations by the mean, minimum and maximum
+ *                  of both series; span starts at 1 (one point per
+ *                  generation, exactly as bred), and whenever all points
+ *                  are used, neighbouring points are merged in pairs and
+ *                  span doubles, so memory stays fixed however long a run
+ *                  goes while the shape of the whole run is kept; point i
+ *                  covers generations i * span + 1 to (i + 1) * span, the
+ *                  last point possibly fewer
+ * @usage:          FitnessHistory history = new FitnessHistory(1024);
+ *                  history.add(mean_fitness, best_fitness);
+ */
+
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public final class FitnessHistory {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+    private static final int COLUMNS = 6;
+    private static final int MEAN_MEAN = 0;
+    private static final int MEAN_LOW = 1;
+    private static final int MEAN_HIGH = 2;
+    private static final int BEST_MEAN = 3;
+    private static final int BEST_LOW = 4;
+    private static final int BEST_HIGH = 5;
+    private final int capacity;
+    private int span = 1;
+    private int size = 0;
+    private int last_count = 0;
+    private int generations = 0;
+    private double[][] columns;
+
+
+
+    /**
+     * Constructor with most points to keep
+     * @param int - most points, at least 2
+     */
+    public FitnessHistory(int capacity) {
+        if(capacity < 2) {
+            throw new IllegalArgumentException("History must keep at least 2 points");
+        }
+        this.capacity = capacity;
+        this.columns = new double[COLUMNS][Math.min(capacity, 16)];
+    }
+
+
+    /**
+     * History of a single generation, e.g. of an exact solver
+     * @param double - mean fitness
+     * @param double - best fitness
+     * @return FitnessHistory - history of one point
+     */
+    static FitnessHistory of(double mean_fitness, double best_fitness) {
+        FitnessHistory history = new FitnessHistory(2);
+        history.add(mean_fitness, best_fitness);
+        return history;
+    }
+
+
+    /**
+     * Adds the next generation's mean and best fitness
+     * @param double - mean fitness of generation
+     * @param double - best fitness of generation
+     */
+    public void add(double mean_fitness, double best_fitness) {
+        if(size > 0 && last_count < span) {
+
+            // Fold into last point
+            int p = size - 1;
+            last_count = last_count + 1;
+            fold(p, MEAN_MEAN, mean_fitness);
+            fold(p, BEST_MEAN, best_fitness);
+        }
+        else {
+
+            // Start a new point, merging pairs first if all are used
+            if(size == capacity) {
+                halve();
+            }
+            if(size == columns[0].length) {
+                for(int c = 0; c < COLUMNS; c++) {
+                    columns[c] = Arrays.copyOf(columns[c], Math.min(capacity, size * 2));
+                }
+            }
+            int p = size;
+            size = size + 1;
+            last_count = 1;
+            columns[MEAN_MEAN][p] = mean_fitness;
+            columns[MEAN_LOW][p] = mean_fitness;
+            columns[MEAN_HIGH][p] = mean_fitness;
+            columns[BEST_MEAN][p] = best_fitness;
+            columns[BEST_LOW][p] = best_fitness;
+            columns[BEST_HIGH][p] = best_fitness;
+        }
+        generations = generations + 1;
+    }
+
+
+    /**
+     * Empties the history, keeping its storage for reuse
+     */
+    void clear() {
+        span = 1;
+        size = 0;
+        last_count = 0;
+        generations = 0;
+    }
+
+
+    /**
+     * Copy, unaffected by generations added afterwards
+     * @return FitnessHistory - copy of history
+     */
+    public FitnessHistory copy() {
+        FitnessHistory copy = new FitnessHistory(capacity);
+        copy.span = span;
+        copy.size = size;
+        copy.last_count = last_count;
+        copy.generations = generations;
+        for(int c = 0; c < COLUMNS; c++) {
+            copy.columns[c] = Arrays.copyOf(columns[c], Math.max(size, 1));
+        }
+        return copy;
+    }
+
+
+    /**
+     * Copy merged to a wider span, so histories of different lengths can
+     * be compared point by point
+     * @param int - span of copy, a power of two at least span()
+     * @return FitnessHistory - merged copy
+     */
+    FitnessHistory withSpan(int wider_span) {
+        FitnessHistory copy = copy();
+        while(copy.span < wider_span) {
+            copy.halve();
+        }
+        return copy;
+    }
+
+
+    /**
+     * @return int - number of generations added
+     */
+    public int generations() {
+        return generations;
+    }
+
+
+    /**
+     * @return int - generations summarized by each point (the last point
+     *               may have fewer)
+     */
+    public int span() {
+        return span;
+    }
+
+
+    /**
+     * @return int - number of points
+     */
+    public int size() {
+        return size;
+    }
+
+
+    /**
+     * @return int - most points kept
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+
+    /**
+     * @return double[] - mean of mean fitness over each point's generations
+     */
+    public double[] meanFitness() {
+        return Arrays.copyOf(columns[MEAN_MEAN], size);
+    }
+
+
+    /**
+     * @return double[] - lowest mean fitness of each point's generations
+     */
+    public double[] meanFitnessLow() {
+        return Arrays.copyOf(columns[MEAN_LOW], size);
+    }
+
+
+    /**
+     * @return double[] - highest mean fitness of each point's generations
+     */
+    public double[] meanFitnessHigh() {
+        return Arrays.copyOf(columns[MEAN_HIGH], size);
+    }
+
+
+    /**
+     * @return double[] - mean of best fitness over each point's generations
+     */
+    public double[] bestFitnessMean() {
+        return Arrays.copyOf(columns[BEST_MEAN], size);
+    }
+
+
+    /**
+     * @return double[] - lowest best fitness of each point's generations
+     */
+    public double[] bestFitnessLow() {
+        return Arrays.copyOf(columns[BEST_LOW], size);
+    }
+
+
+    /**
+     * @return double[] - highest best fitness of each point's generations
+     */
+    public double[] bestFitness() {
+        return Arrays.copyOf(columns[BEST_HIGH], size);
+    }
+
+
+    /**
+     * Combines histories of populations bred side by side (islands), point
+     * by point at the widest span of them: mean columns are averaged over
+     * the histories that reach that point, best columns take the highest;
+     * with span 1 this is the mean of island means and best of island
+     * bests of each generation
+     * @param FitnessHistory[] - histories to combine
+     * @return FitnessHistory - combined history
+     */
+    static FitnessHistory combine(FitnessHistory[] histories) {
+        int wider_span = 1;
+        int capacity = 2;
+        for(int i = 0; i < histories.length; i++) {
+            wider_span = Math.max(wider_span, histories[i].span);
+            capacity = Math.max(capacity, histories[i].capacity);
+        }
+        FitnessHistory[] merged = new FitnessHistory[histories.length];
+        FitnessHistory combined = new FitnessHistory(capacity);
+        combined.span = wider_span;
+        for(int i = 0; i < histories.length; i++) {
+            merged[i] = histories[i].withSpan(wider_span);
+            if(merged[i].generations > combined.generations) {
+                combined.generations = merged[i].generations;
+                combined.size = merged[i].size;
+                combined.last_count = merged[i].last_count;
+            }
+        }
+        for(int c = 0; c < COLUMNS; c++) {
+            combined.columns[c] = new double[Math.max(combined.size, 1)];
+        }
+        for(int p = 0; p < combined.size; p++) {
+            int count = 0;
+            for(int i = 0; i < merged.length; i++) {
+                if(p >= merged[i].size) {
+                    continue;
+                }
+                count = count + 1;
+                for(int c = MEAN_MEAN; c <= MEAN_HIGH; c++) {
+                    combined.columns[c][p] = combined.columns[c][p] + merged[i].columns[c][p];
+                }
+                for(int c = BEST_MEAN; c <= BEST_HIGH; c++) {
+                    combined.columns[c][p] = count == 1 ? merged[i].columns[c][p]
+                        : Math.max(combined.columns[c][p], merged[i].columns[c][p]);
+                }
+            }
+            for(int c = MEAN_MEAN; c <= MEAN_HIGH; c++) {
+                combined.columns[c][p] = combined.columns[c][p] / count;
+            }
+        }
+        return combined;
+    }
+
+
+    /**
+     * Number of bytes put() writes
+     * @return long - size of history in a snapshot
+     */
+    long snapshotBytes() {
+        return 20 + (long) size * COLUMNS * 8;
+    }
+
+
+    /**
+     * Writes history into a checkpoint snapshot
+     * @param ByteBuffer - snapshot
+     */
+    void put(ByteBuffer snapshot) {
+        snapshot.putInt(capacity);
+        snapshot.putInt(span);
+        snapshot.putInt(size);
+        snapshot.putInt(last_count);
+        snapshot.putInt(generations);
+        for(int p = 0; p < size; p++) {
+            for(int c = 0; c < COLUMNS; c++) {
+                snapshot.putDouble(columns[c][p]);
+            }
+        }
+    }
+
+
+    /**
+     * Reads history from a checkpoint snapshot
+     * @param ByteBuffer - snapshot
+     * @return FitnessHistory - history, or null if it is not consistent
+     */
+    static FitnessHistory get(ByteBuffer snapshot) {
+        FitnessHistory history = shell(snapshot.getInt(), snapshot.getInt(), snapshot.getInt(),
+            snapshot.getInt(), snapshot.getInt());
+        if(history == null) {
+            return null;
+        }
+        for(int p = 0; p < history.size; p++) {
+            for(int c = 0; c < COLUMNS; c++) {
+                history.columns[c][p] = snapshot.getDouble();
+            }
+        }
+        return history;
+    }
+
+
+    /**
+     * Writes history to a stream, laid out as put() lays it out
+     * @param DataOutput - stream to write to
+     */
+    void write(DataOutput out) throws IOException {
+        out.writeInt(capacity);
+        out.writeInt(span);
+        out.writeInt(size);
+        out.writeInt(last_count);
+        out.writeInt(generations);
+        for(int p = 0; p < size; p++) {
+            for(int c = 0; c < COLUMNS; c++) {
+                out.writeDouble(columns[c][p]);
+            }
+        }
+    }
+
+
+    /**
+     * Reads history from a stream
+     * @param DataInput - stream to read from
+     * @return FitnessHistory - history
+     */
+    static FitnessHistory read(DataInput in) throws IOException {
+        FitnessHistory history = shell(in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readInt());
+        if(history == null) {
+            throw new IOException("Bad fitness history");
+        }
+        for(int p = 0; p < history.size; p++) {
+            for(int c = 0; c < COLUMNS; c++) {
+                history.columns[c][p] = in.readDouble();
+            }
+        }
+        return history;
+    }
+
+
+    /**
+     * Makes an empty history of given shape, after checking the shape is
+     * one add() could have made
+     * @return FitnessHistory - history to fill, or null if inconsistent
+     */
+    private static FitnessHistory shell(int capacity, int span, int size, int last_count, int generations) {
+        if(capacity < 2 || span < 1 || Integer.bitCount(span) != 1 || size < 1 || size > capacity
+                || last_count < 1 || last_count > span
+                || (long) (size - 1) * span + last_count != generations) {
+            return null;
+        }
+        FitnessHistory history = new FitnessHistory(capacity);
+        history.span = span;
+        history.size = size;
+        history.last_count = last_count;
+        history.generations = generations;
+        for(int c = 0; c < COLUMNS; c++) {
+            history.columns[c] = new double[size];
+        }
+        return history;
+    }
+
+
+    /**
+     * Folds a generation's value into the mean, low and high of a point
+     * @param int - point
+     * @param int - mean column of series; low and high follow it
+     * @param double - value of generation
+     */
+    private void fold(int p, int mean_column, double value) {
+        double[] mean = columns[mean_column];
+        mean[p] = mean[p] + (value - mean[p]) / last_count;
+        columns[mean_column + 1][p] = Math.min(columns[mean_column + 1][p], value);
+        columns[mean_column + 2][p] = Math.max(columns[mean_column + 2][p], value);
+    }
+
+
+    /**
+     * Merges neighbouring points in pairs and doubles span
+     */
+    private void halve() {
+        int merged_size = (size + 1) / 2;
+        int merged_last_count = 0;
+        for(int p = 0; p < merged_size; p++) {
+            int first = 2 * p;
+            int second = first + 1;
+            int first_count = first == size - 1 ? last_count : span;
+            int second_count = second < size ? (second == size - 1 ? last_count : span) : 0;
+            int count = first_count + second_count;
+            for(int c = MEAN_MEAN; c <= BEST_MEAN; c = c + 3) {
+                double mean = columns[c][first];
+                double low = columns[c + 1][first];
+                double high = columns[c + 2][first];
+                if(second_count > 0) {
+                    mean = (mean * first_count + columns[c][second] * second_count) / count;
+                    low = Math.min(low, columns[c + 1][second]);
+                    high = Math.max(high, columns[c + 2][second]);
+                }
+                columns[c][p] = mean;
+                columns[c + 1][p] = low;
+                columns[c + 2][p] = high;
+            }
+            merged_last_count = count;
+        }
+        size = merged_size;
+        last_count = merged_last_count;
+        span = span * 2;
+    }
+
+} // FitnessHistory
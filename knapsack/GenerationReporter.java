@@ -0,0 +1,283 @@
+package knapsack;
+
+/**
+ * @filename:       GenerationReporter.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Outputs algorithm details of KnapsackProblem, gated by a
+ *                  Verbosity level; output goes through a large buffer and
+ *                  is only flushed when asked (or when the buffer fills),
+ *                  instead of on every line; full population dumps can be
+ *                  sampled, only every dump_interval-th generation being
+ *                  written
+ */
+
+
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+public class GenerationReporter {
+
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+    private int dump_interval = 1;
+    private Verbosity verbosity = Verbosity.GENERATION;
+    private PrintWriter out;
+
+
+
+    /**
+     * Default constructor
+     * @param OutputStream - where to write output (e.g. System.out)
+     * @param Verbosity - how much detail to output
+     * @param int - dump population only every dump_interval-th generation
+     */
+    public GenerationReporter(OutputStream stream, Verbosity verbosity, int dump_interval) {
+        this.out = new PrintWriter(new BufferedWriter(
+            new OutputStreamWriter(stream, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE), false);
+        this.verbosity = verbosity;
+        this.dump_interval = Math.max(1, dump_interval);
+    }
+
+
+    /**
+     * Makes a reporter which outputs nothing during a run
+     * @return GenerationReporter - silent reporter
+     */
+    public static GenerationReporter silent() {
+        return new GenerationReporter(OutputStream.nullOutputStream(), Verbosity.SUMMARY, 1);
+    }
+
+
+    /**
+     * Whether full populations are output at all
+     * @return boolean - true if verbosity is POPULATION
+     */
+    public boolean isVerbose() {
+        return verbosity == Verbosity.POPULATION;
+    }
+
+
+    /**
+     * Whether a generation's full population would be written; lets the
+     * caller skip preparing a dump that would be thrown away
+     * @param int - generation number, 1 for initial generation
+     * @return boolean - true if population of generation is dumped
+     */
+    public boolean dumpsPopulation(int generation) {
+        return verbosity == Verbosity.POPULATION && (generation - 1) % dump_interval == 0;
+    }
+
+
+    /**
+     * Output random seed of run, so it can be repeated
+     * @param long - random seed
+     */
+    public void seed(long seed) {
+        if(verbosity != Verbosity.SUMMARY) {
+            out.println("Random seed: " + seed);
+        }
+    }
+
+
+    /**
+     * Output every gene and fitness value of a generation, if sampled
+     * @param int - generation number, 1 for initial generation
+     * @param Chromosome[] - genes of generation
+     * @param double[] - fitness of each gene
+     * @param int - number of genes
+     */
+    public void population(int generation, Chromosome[] population, double[] fitness,
+            int population_size) {
+        if(!dumpsPopulation(generation)) {
+            return;
+        }
+        out.println();
+        out.println(title(generation));
+        out.println("Population:");
+        for(int i = 0; i < population_size; i++) {
+            out.println((i + 1) + " - " + population[i]);
+        }
+        out.println();
+        out.println("Fitness:");
+        for(int i = 0; i < population_size; i++) {
+            out.println((i + 1) + " - " + fitness[i]);
+        }
+    }
+
+
+    /**
+     * Output summary of a generation
+     * @param int - generation number, 1 for initial generation
+     * @param GenerationStats - statistics of generation
+     * @param Chromosome - best gene of generation
+     * @param int - number of genes in generation
+     * @param int - number of crossovers breeding generation
+     * @param int - number of clonings breeding generation
+     * @param boolean - whether mutation occurred breeding generation
+     */
+    public void generation(int generation, GenerationStats stats, Chromosome best,
+            int population_size, int crossover_count, int clone_count, boolean mutation) {
+        if(verbosity == Verbosity.SUMMARY) {
+            return;
+        }
+        String name = generation == 1 ? "initial generation" : "generation " + generation;
+        if(!dumpsPopulation(generation)) {
+            out.println();
+            out.println(title(generation));
+        }
+        out.println();
+        if(verbosity == Verbosity.POPULATION) {
+            // Whole gene, one character per item, so only with the population
+            out.println("Best solution of " + name + ": " + best);
+        }
+        out.println("Mean fitness of " + name + ": " + stats.meanFitness());
+        out.println("Fitness score of best solution of " + name + ": " + stats.bestFitness());
+        out.println("Minimum fitness of " + name + ": " + stats.minFitness());
+        out.println("Fitness variance of " + name + ": " + stats.variance());
+        out.println("Solutions within capacity: " + stats.feasibleCount() + " of " + population_size);
+        if(generation > 1) {
+            out.println("Crossover occurred " + crossover_count + " times");
+            out.println("Cloning occurred " + clone_count + " times");
+            out.println(mutation ? "Mutation did occur" : "Mutation did not occur");
+        }
+    }
+
+
+    /**
+     * Output fitness cache use of a generation's evaluation
+     * @param long - genes whose totals were found in cache
+     * @param long - genes summed item by item
+     * @param long - genes whose totals were already known from breeding
+     */
+    public void fitnessCache(long hits, long misses, long known) {
+        if(verbosity != Verbosity.SUMMARY) {
+            out.println("Fitness cache: " + hits + " hits, " + misses + " misses, "
+                + known + " bred with known totals");
+        }
+    }
+
+
+    /**
+     * Output a machine-readable stats line of a run's timers and counters,
+     * at every verbosity, flushed so it can be followed as it is written
+     * @param String - line of name=value pairs
+     */
+    public void stats(String line) {
+        out.println(line);
+        out.flush();
+    }
+
+
+    /**
+     * Output note that a stopping criterion ended the run
+     * @param int - last generation bred
+     * @param String - reason criterion gave
+     */
+    public void stopCriterion(int generation, String reason) {
+        if(verbosity != Verbosity.SUMMARY) {
+            out.println();
+            out.println("Stop criterion met after generation " + generation + ": " + reason);
+        }
+    }
+
+
+    /**
+     * Output engine solving the problem, when it is picked by config
+     * @param String - description of engine
+     */
+    public void engine(String description) {
+        if(verbosity != Verbosity.SUMMARY) {
+            out.println("Solving with " + description);
+        }
+    }
+
+
+    /**
+     * Output note that the run carries on from a checkpoint
+     * @param int - generations bred before checkpoint
+     */
+    public void resumed(int generation) {
+        if(verbosity != Verbosity.SUMMARY) {
+            out.println();
+            out.println("Resumed from checkpoint after generation " + generation);
+        }
+    }
+
+
+    /**
+     * Output progress of all islands of a distributed island model run,
+     * at a migration
+     * @param int - generations bred so far
+     * @param double - best fitness of any island so far
+     * @param double - mean fitness over islands in latest generation
+     * @param int - number of islands still running
+     */
+    public void islandProgress(int generation, double best_fitness, double mean_fitness, int islands) {
+        if(verbosity != Verbosity.SUMMARY) {
+            out.println("Generation " + generation + ": best fitness " + best_fitness
+                + ", mean fitness " + mean_fitness + " (" + islands + " islands running)");
+            out.flush();
+        }
+    }
+
+
+    /**
+     * Output summary of one island of an island model run
+     * @param int - island number, 0 first
+     * @param KnapsackResult - best solution and history of island
+     */
+    public void island(int island, KnapsackResult result) {
+        if(verbosity != Verbosity.SUMMARY) {
+            out.println();
+            out.println("Island " + (island + 1) + " (seed " + result.getSeed() + "): best fitness "
+                + result.getBestFitness() + " in generation " + result.getBestGeneration()
+                + " of " + result.getGenerations());
+        }
+    }
+
+
+    /**
+     * Output optimal list of items, numbered from 1; always written
+     * @param Chromosome - best gene found
+     * @param double - fitness of best gene
+     */
+    public void optimalList(Chromosome best, double best_fitness) {
+        out.println();
+        out.println("Optimal list of items to include in knapsack: ");
+        StringBuilder line = new StringBuilder();
+        for(int y = best.nextSetBit(0); y >= 0; y = best.nextSetBit(y + 1)) {
+            line.append(y + 1).append(' ');
+        }
+        out.println(line);
+        if(verbosity != Verbosity.SUMMARY) {
+            out.println("Fitness of optimal list: " + best_fitness);
+        }
+        out.flush();
+    }
+
+
+    /**
+     * Writes out anything still buffered
+     */
+    public void flush() {
+        out.flush();
+    }
+
+
+    /**
+     * Heading of a generation, underlined to its length
+     * @return String - two line heading
+     */
+    private static String title(int generation) {
+        String heading = generation == 1 ? "Initial Generation:" : "Generation " + generation + ":";
+        StringBuilder underline = new StringBuilder(heading.length());
+        for(int i = 0; i < heading.length(); i++) {
+            underline.append('=');
+        }
+        return heading + System.lineSeparator() + underline;
+    }
+
+} // GenerationReporter
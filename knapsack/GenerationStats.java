@@ -0,0 +1,126 @@
+package knapsack;
+
+/**
+ * @filename:       GenerationStats.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Summary statistics of one generation (best gene
+ *                  position and fitness, mean, minimum and variance of
+ *                  fitness, number of genes within knapsack capacity),
+ *                  computed in a single sweep over the already evaluated
+ *                  fitness array; immutable once computed
+ */
+
+
+public final class GenerationStats {
+
+    private final int best_index;
+    private final int feasible_count;
+    private final double best_fitness;
+    private final double mean_fitness;
+    private final double min_fitness;
+    private final double variance;
+
+
+
+    /**
+     * Default constructor
+     */
+    public GenerationStats(int best_index, double best_fitness, double mean_fitness,
+            double min_fitness, double variance, int feasible_count) {
+        this.best_index = best_index;
+        this.best_fitness = best_fitness;
+        this.mean_fitness = mean_fitness;
+        this.min_fitness = min_fitness;
+        this.variance = variance;
+        this.feasible_count = feasible_count;
+    }
+
+
+    /**
+     * Computes statistics of a generation in one pass; mean and variance
+     * use Welford's running update, best is the first gene of highest
+     * fitness; genes must already be evaluated
+     * @param double[] - fitness of each gene
+     * @param Chromosome[] - evaluated genes of generation
+     * @param int - number of genes in generation
+     * @param double - knapsack capacity, for feasibility
+     * @return GenerationStats - statistics of generation
+     */
+    public static GenerationStats compute(double[] fitness, Chromosome[] population,
+            int population_size, double knapsack_capacity) {
+        int best_index = 0;
+        int feasible_count = 0;
+        double best_fitness = fitness[0];
+        double min_fitness = fitness[0];
+        double mean = 0;
+        double sum_of_squares = 0;
+        for(int i = 0; i < population_size; i++) {
+            double this_fitness = fitness[i];
+            if(this_fitness > best_fitness) {
+                best_fitness = this_fitness;
+                best_index = i;
+            }
+            if(this_fitness < min_fitness) {
+                min_fitness = this_fitness;
+            }
+            if(population[i].totalWeight() <= knapsack_capacity) {
+                feasible_count = feasible_count + 1;
+            }
+            double delta = this_fitness - mean;
+            mean = mean + delta / (i + 1);
+            sum_of_squares = sum_of_squares + delta * (this_fitness - mean);
+        }
+        return new GenerationStats(best_index, best_fitness, mean, min_fitness,
+            sum_of_squares / population_size, feasible_count);
+    }
+
+
+    /**
+     * @return int - position of best gene in population
+     */
+    public int bestIndex() {
+        return best_index;
+    }
+
+
+    /**
+     * @return double - fitness of best gene
+     */
+    public double bestFitness() {
+        return best_fitness;
+    }
+
+
+    /**
+     * @return double - mean fitness of generation
+     */
+    public double meanFitness() {
+        return mean_fitness;
+    }
+
+
+    /**
+     * @return double - lowest fitness of generation
+     */
+    public double minFitness() {
+        return min_fitness;
+    }
+
+
+    /**
+     * @return double - population variance of fitness
+     */
+    public double variance() {
+        return variance;
+    }
+
+
+    /**
+     * @return int - number of genes within knapsack capacity
+     */
+    public int feasibleCount() {
+        return feasible_count;
+    }
+
+} // GenerationStats
@@ -0,0 +1,660 @@
+package knapsack;
+
+/**
+ * @filename:       GeneticConfig.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Parameters of a genetic algorithm run (population size,
+ *                  maximum generations, crossover and mutation
+ *                  probabilities, selection strategy, random seed, island
+ *                  model migration, checkpointing, fitness cache, engine,
+ *                  greedy seeding and repair, stop criteria, stats,
+ *                  progress output, history size); immutable, made with
+ *                  GeneticConfig.Builder, so one config can be shared by
+ *                  any number of concurrent solves
+ * @usage:          GeneticConfig config = new GeneticConfig.Builder()
+ *                      .populationSize(100).maximumGenerations(50)
+ *                      .crossoverProbability(0.8).mutationProbability(0.1)
+ *                      .build();
+ */
+
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public final class GeneticConfig {
+
+    private final int population_size;
+    private final int maximum_generations;
+    private final int tournament_size;
+    private final double prob_crossover;
+    private final double prob_mutation;
+    private final String selection_name;
+    private final Long seed;
+    private final int islands;
+    private final int migration_interval;
+    private final int migration_size;
+    private final String migration_topology;
+    private final String checkpoint_file;
+    private final int checkpoint_interval;
+    private final boolean resume;
+    private final int fitness_cache_size;
+    private final String engine;
+    private final double seed_fraction;
+    private final boolean repair;
+    private final List<StopCriterion> stop_criteria;
+    private final int stagnation_window;
+    private final double stagnation_epsilon;
+    private final boolean stagnation_on_best;
+    private final Double target_fitness;
+    private final long evaluation_budget;
+    private final long time_limit;
+    private final boolean stop_at_upper_bound;
+    private final int stats_interval;
+    private final String progress_file;
+    private final String progress_format;
+    private final int history_capacity;
+
+
+
+    /**
+     * Constructor, from builder
+     */
+    private GeneticConfig(Builder builder) {
+        this.population_size = builder.population_size;
+        this.maximum_generations = builder.maximum_generations;
+        this.tournament_size = builder.tournament_size;
+        this.prob_crossover = builder.prob_crossover;
+        this.prob_mutation = builder.prob_mutation;
+        this.selection_name = builder.selection_name;
+        this.seed = builder.seed;
+        this.islands = builder.islands;
+        this.migration_interval = builder.migration_interval;
+        this.migration_size = builder.migration_size;
+        this.migration_topology = builder.migration_topology;
+        this.checkpoint_file = builder.checkpoint_file;
+        this.checkpoint_interval = builder.checkpoint_interval;
+        this.resume = builder.resume;
+        this.fitness_cache_size = builder.fitness_cache_size;
+        this.engine = builder.engine;
+        this.seed_fraction = builder.seed_fraction;
+        this.repair = builder.repair;
+        this.stop_at_upper_bound = builder.stop_at_upper_bound;
+        this.stats_interval = builder.stats_interval;
+        this.progress_file = builder.progress_file;
+        this.progress_format = builder.progress_format;
+        this.history_capacity = builder.history_capacity;
+        this.stagnation_window = builder.stagnation_window;
+        this.stagnation_epsilon = builder.stagnation_epsilon;
+        this.stagnation_on_best = builder.stagnation_on_best;
+        this.target_fitness = builder.target_fitness;
+        this.evaluation_budget = builder.evaluation_budget;
+        this.time_limit = builder.time_limit;
+
+        // Criteria in order they are checked, cheapest first
+        ArrayList<StopCriterion> criteria = new ArrayList<StopCriterion>();
+        if(builder.stagnation_window > 0) {
+            criteria.add(StopCriterion.stagnation(builder.stagnation_window, builder.stagnation_epsilon,
+                builder.stagnation_on_best));
+        }
+        if(builder.target_fitness != null) {
+            criteria.add(StopCriterion.targetFitness(builder.target_fitness));
+        }
+        if(builder.evaluation_budget > 0) {
+            criteria.add(StopCriterion.evaluationBudget(builder.evaluation_budget));
+        }
+        if(builder.time_limit > 0) {
+            criteria.add(StopCriterion.timeLimit(builder.time_limit));
+        }
+        criteria.addAll(builder.custom_criteria);
+        this.stop_criteria = Collections.unmodifiableList(criteria);
+    }
+
+
+    /**
+     * @return int - population size
+     */
+    public int getPopulationSize() {
+        return population_size;
+    }
+
+
+    /**
+     * @return int - maximum number of generations
+     */
+    public int getMaximumGenerations() {
+        return maximum_generations;
+    }
+
+
+    /**
+     * @return double - crossover probability
+     */
+    public double getCrossoverProbability() {
+        return prob_crossover;
+    }
+
+
+    /**
+     * @return double - mutation probability
+     */
+    public double getMutationProbability() {
+        return prob_mutation;
+    }
+
+
+    /**
+     * @return String - name of selection strategy
+     */
+    public String getSelectionName() {
+        return selection_name;
+    }
+
+
+    /**
+     * @return int - number of genes competing in each tournament
+     */
+    public int getTournamentSize() {
+        return tournament_size;
+    }
+
+
+    /**
+     * Whether a random seed was set; without one, each solve picks its own
+     * @return boolean - true if seed was set
+     */
+    public boolean hasSeed() {
+        return seed != null;
+    }
+
+
+    /**
+     * @return long - random seed; only valid if hasSeed()
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+
+    /**
+     * @return int - number of islands (separate populations); 1 for none
+     */
+    public int getIslands() {
+        return islands;
+    }
+
+
+    /**
+     * @return int - generations between migrations of islands
+     */
+    public int getMigrationInterval() {
+        return migration_interval;
+    }
+
+
+    /**
+     * @return int - number of genes each island sends per migration
+     */
+    public int getMigrationSize() {
+        return migration_size;
+    }
+
+
+    /**
+     * @return String - migration topology, "ring" or "random"
+     */
+    public String getMigrationTopology() {
+        return migration_topology;
+    }
+
+
+    /**
+     * @return String - file to save checkpoints to, or null for none
+     */
+    public String getCheckpointFile() {
+        return checkpoint_file;
+    }
+
+
+    /**
+     * @return int - generations between checkpoints
+     */
+    public int getCheckpointInterval() {
+        return checkpoint_interval;
+    }
+
+
+    /**
+     * Whether to carry on from the checkpoint file, if there is one
+     * @return boolean - true to resume
+     */
+    public boolean isResume() {
+        return resume;
+    }
+
+
+    /**
+     * @return int - entries in each run's cache of migrating genes'
+     *     totals; 0 for no cache
+     */
+    public int getFitnessCacheSize() {
+        return fitness_cache_size;
+    }
+
+
+    /**
+     * @return String - engine: ga (genetic algorithm), dp (dynamic
+     *                  programming), bnb (branch and bound) or auto
+     */
+    public String getEngine() {
+        return engine;
+    }
+
+
+    /**
+     * @return double - fraction of first generation seeded with greedy solutions
+     */
+    public double getSeedFraction() {
+        return seed_fraction;
+    }
+
+
+    /**
+     * Whether genes over capacity are repaired by value/weight ratio
+     * @return boolean - true to repair
+     */
+    public boolean isRepair() {
+        return repair;
+    }
+
+
+    /**
+     * Criteria ending a run before maximum generations, besides the upper bound
+     * @return List<StopCriterion> - criteria, checked in order
+     */
+    public List<StopCriterion> getStopCriteria() {
+        return stop_criteria;
+    }
+
+
+    /**
+     * @return int - generations compared for stagnation; 0 for no check
+     */
+    public int getStagnationWindow() {
+        return stagnation_window;
+    }
+
+
+    /**
+     * @return double - largest change in fitness counted as stagnation
+     */
+    public double getStagnationEpsilon() {
+        return stagnation_epsilon;
+    }
+
+
+    /**
+     * Whether stagnation watches best fitness rather than mean fitness
+     * @return boolean - true for best fitness
+     */
+    public boolean isStagnationOnBest() {
+        return stagnation_on_best;
+    }
+
+
+    /**
+     * Whether a run stops at a target fitness
+     * @return boolean - true if target fitness was set
+     */
+    public boolean hasTargetFitness() {
+        return target_fitness != null;
+    }
+
+
+    /**
+     * @return double - target fitness; only valid if hasTargetFitness()
+     */
+    public double getTargetFitness() {
+        return target_fitness;
+    }
+
+
+    /**
+     * @return long - most genes evaluated per run; 0 for no budget
+     */
+    public long getEvaluationBudget() {
+        return evaluation_budget;
+    }
+
+
+    /**
+     * @return long - time limit of a run in milliseconds; 0 for no limit
+     */
+    public long getTimeLimit() {
+        return time_limit;
+    }
+
+
+    /**
+     * Whether a run stops once it reaches the LP relaxation upper bound
+     * @return boolean - true to stop at upper bound
+     */
+    public boolean isStopAtUpperBound() {
+        return stop_at_upper_bound;
+    }
+
+
+    /**
+     * Generations between stats lines of a run's timers and counters
+     * @return int - generations between stats lines; 0 to keep no stats
+     */
+    public int getStatsInterval() {
+        return stats_interval;
+    }
+
+
+    /**
+     * @return String - file or pipe each generation's record is streamed
+     *                  to; null for none
+     */
+    public String getProgressFile() {
+        return progress_file;
+    }
+
+
+    /**
+     * @return String - format of progress records: ndjson or csv
+     */
+    public String getProgressFormat() {
+        return progress_format;
+    }
+
+
+    /**
+     * Most points of fitness history a run keeps; longer runs merge
+     * neighbouring generations into one point
+     * @return int - most history points
+     */
+    public int getHistoryCapacity() {
+        return history_capacity;
+    }
+
+
+    /**
+     * Makes a fresh selection strategy; strategies keep per-generation
+     * state, so every run needs its own
+     * @return Selection - new selection strategy
+     */
+    public Selection newSelection() {
+        return Selection.named(selection_name, tournament_size);
+    }
+
+
+    /**
+     * Builder of GeneticConfig; defaults are population 100, 100
+     * generations, crossover probability 0.8, mutation probability 0.1,
+     * roulette selection, no fixed seed, one island (islands migrate 2
+     * genes every 10 generations around a ring, if more are set), no
+     * checkpoints (every 10 generations, if a file is set), no fitness
+     * cache, genetic algorithm engine, no greedy seeding or repair, and
+     * stopping when mean fitness is equal for 3 generations (stagnation
+     * window 3, epsilon 0 on mean fitness) but on no other criterion
+     */
+    public static class Builder {
+
+        private int population_size = 100;
+        private int maximum_generations = 100;
+        private int tournament_size = 2;
+        private double prob_crossover = 0.8;
+        private double prob_mutation = 0.1;
+        private String selection_name = "roulette";
+        private Long seed = null;
+        private int islands = 1;
+        private int migration_interval = 10;
+        private int migration_size = 2;
+        private String migration_topology = "ring";
+        private String checkpoint_file = null;
+        private int checkpoint_interval = 10;
+        private boolean resume = false;
+        private int fitness_cache_size = 0;
+        private String engine = "ga";
+        private double seed_fraction = 0;
+        private boolean repair = false;
+        private int stagnation_window = 3;
+        private double stagnation_epsilon = 0;
+        private boolean stagnation_on_best = false;
+        private Double target_fitness = null;
+        private long evaluation_budget = 0;
+        private long time_limit = 0;
+        private boolean stop_at_upper_bound = false;
+        private int stats_interval = 0;
+        private String progress_file = null;
+        private String progress_format = "ndjson";
+        private int history_capacity = FitnessHistory.DEFAULT_CAPACITY;
+        private ArrayList<StopCriterion> custom_criteria = new ArrayList<StopCriterion>();
+
+        public Builder populationSize(int population_size) {
+            this.population_size = population_size;
+            return this;
+        }
+
+        public Builder maximumGenerations(int maximum_generations) {
+            this.maximum_generations = maximum_generations;
+            return this;
+        }
+
+        public Builder crossoverProbability(double prob_crossover) {
+            this.prob_crossover = prob_crossover;
+            return this;
+        }
+
+        public Builder mutationProbability(double prob_mutation) {
+            this.prob_mutation = prob_mutation;
+            return this;
+        }
+
+        public Builder selection(String selection_name) {
+            this.selection_name = selection_name;
+            return this;
+        }
+
+        public Builder tournamentSize(int tournament_size) {
+            this.tournament_size = tournament_size;
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder islands(int islands) {
+            this.islands = islands;
+            return this;
+        }
+
+        public Builder migrationInterval(int migration_interval) {
+            this.migration_interval = migration_interval;
+            return this;
+        }
+
+        public Builder migrationSize(int migration_size) {
+            this.migration_size = migration_size;
+            return this;
+        }
+
+        public Builder migrationTopology(String migration_topology) {
+            this.migration_topology = migration_topology;
+            return this;
+        }
+
+        public Builder checkpointFile(String checkpoint_file) {
+            this.checkpoint_file = checkpoint_file;
+            return this;
+        }
+
+        public Builder checkpointInterval(int checkpoint_interval) {
+            this.checkpoint_interval = checkpoint_interval;
+            return this;
+        }
+
+        public Builder resume(boolean resume) {
+            this.resume = resume;
+            return this;
+        }
+
+        public Builder fitnessCacheSize(int fitness_cache_size) {
+            this.fitness_cache_size = fitness_cache_size;
+            return this;
+        }
+
+        public Builder engine(String engine) {
+            this.engine = engine;
+            return this;
+        }
+
+        public Builder seedFraction(double seed_fraction) {
+            this.seed_fraction = seed_fraction;
+            return this;
+        }
+
+        public Builder repair(boolean repair) {
+            this.repair = repair;
+            return this;
+        }
+
+        public Builder stagnationWindow(int stagnation_window) {
+            this.stagnation_window = stagnation_window;
+            return this;
+        }
+
+        public Builder stagnationEpsilon(double stagnation_epsilon) {
+            this.stagnation_epsilon = stagnation_epsilon;
+            return this;
+        }
+
+        public Builder stagnationOnBest(boolean stagnation_on_best) {
+            this.stagnation_on_best = stagnation_on_best;
+            return this;
+        }
+
+        public Builder targetFitness(double target_fitness) {
+            this.target_fitness = target_fitness;
+            return this;
+        }
+
+        public Builder evaluationBudget(long evaluation_budget) {
+            this.evaluation_budget = evaluation_budget;
+            return this;
+        }
+
+        public Builder timeLimit(long milliseconds) {
+            this.time_limit = milliseconds;
+            return this;
+        }
+
+        public Builder stopAtUpperBound(boolean stop_at_upper_bound) {
+            this.stop_at_upper_bound = stop_at_upper_bound;
+            return this;
+        }
+
+        public Builder statsInterval(int stats_interval) {
+            this.stats_interval = stats_interval;
+            return this;
+        }
+
+        public Builder progressFile(String progress_file) {
+            this.progress_file = progress_file;
+            return this;
+        }
+
+        public Builder progressFormat(String progress_format) {
+            this.progress_format = progress_format;
+            return this;
+        }
+
+        public Builder historyCapacity(int history_capacity) {
+            this.history_capacity = history_capacity;
+            return this;
+        }
+
+        public Builder stopCriterion(StopCriterion criterion) {
+            this.custom_criteria.add(criterion);
+            return this;
+        }
+
+        /**
+         * Checks parameters and makes config
+         * @return GeneticConfig - immutable config
+         */
+        public GeneticConfig build() {
+            if(population_size < 1) {
+                throw new IllegalArgumentException("Population size must be at least 1");
+            }
+            if(maximum_generations < 1) {
+                throw new IllegalArgumentException("Maximum generations must be at least 1");
+            }
+            if(!(prob_crossover >= 0 && prob_crossover <= 1)) {
+                throw new IllegalArgumentException("Crossover probability must be from 0 to 1");
+            }
+            if(!(prob_mutation >= 0 && prob_mutation <= 1)) {
+                throw new IllegalArgumentException("Mutation probability must be from 0 to 1");
+            }
+            if(Selection.named(selection_name, tournament_size) == null) {
+                throw new IllegalArgumentException("Unknown selection strategy: " + selection_name);
+            }
+            if(islands < 1) {
+                throw new IllegalArgumentException("Number of islands must be at least 1");
+            }
+            if(migration_interval < 1) {
+                throw new IllegalArgumentException("Migration interval must be at least 1");
+            }
+            if(migration_size < 0) {
+                throw new IllegalArgumentException("Migration size must be at least 0");
+            }
+            if(!"ring".equals(migration_topology) && !"random".equals(migration_topology)) {
+                throw new IllegalArgumentException("Unknown migration topology: " + migration_topology);
+            }
+            if(!"ga".equals(engine) && !"dp".equals(engine) && !"bnb".equals(engine)
+                    && !"auto".equals(engine)) {
+                throw new IllegalArgumentException("Unknown engine: " + engine);
+            }
+            if(!(seed_fraction >= 0 && seed_fraction <= 1)) {
+                throw new IllegalArgumentException("Seed fraction must be from 0 to 1");
+            }
+            if(stagnation_window < 0 || !(stagnation_epsilon >= 0)) {
+                throw new IllegalArgumentException("Stagnation window and epsilon must be at least 0");
+            }
+            if(evaluation_budget < 0 || time_limit < 0) {
+                throw new IllegalArgumentException("Evaluation budget and time limit must be at least 0");
+            }
+            if(stats_interval < 0) {
+                throw new IllegalArgumentException("Stats interval must be at least 0");
+            }
+            if(history_capacity < 2) {
+                throw new IllegalArgumentException("History must keep at least 2 points");
+            }
+            if(!ProgressSink.isFormat(progress_format)) {
+                throw new IllegalArgumentException("Unknown progress format: " + progress_format);
+            }
+            if(progress_file != null && islands > 1) {
+                throw new IllegalArgumentException("Progress output is not supported with islands");
+            }
+            if(fitness_cache_size < 0) {
+                throw new IllegalArgumentException("Fitness cache size must be at least 0");
+            }
+            if(checkpoint_interval < 1) {
+                throw new IllegalArgumentException("Checkpoint interval must be at least 1");
+            }
+            if(checkpoint_file != null && islands > 1) {
+                throw new IllegalArgumentException("Checkpoints are not supported with islands");
+            }
+            if(resume && checkpoint_file == null) {
+                throw new IllegalArgumentException("Resuming needs a checkpoint file");
+            }
+            return new GeneticConfig(this);
+        }
+    }
+
+} // GeneticConfig
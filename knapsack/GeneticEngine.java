@@ -0,0 +1,168 @@
+package knapsack;
+
+/**
+ * @filename:       GeneticEngine.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Reusable entry point for solving knapsack problems with
+ *                  the genetic algorithm; an engine holds no per-problem
+ *                  state (each solve() gets its own GeneticRun), so it can
+ *                  be kept for the life of a service and called
+ *                  repeatedly and concurrently, its evaluation worker pool
+ *                  shared by all solves; close() shuts the pool down;
+ *                  depending on the config's engine, problems are solved
+ *                  exactly instead, by dynamic programming or branch and
+ *                  bound, or (auto) by dynamic programming if the problem
+ *                  is small enough, else branch and bound if it finishes
+ *                  within AUTO_NODE_LIMIT branches, else the genetic
+ *                  algorithm; runs with stats on publish their timers and
+ *                  counters to the engine's metrics, readable over JMX
+ *                  (knapsack:type=GeneticEngine) until close()
+ * @usage:          try(GeneticEngine engine = new GeneticEngine(4)) {
+ *                      KnapsackResult result = engine.solve(instance, config);
+ *                  }
+ */
+
+
+import java.util.concurrent.ForkJoinPool;
+
+public class GeneticEngine implements AutoCloseable {
+
+    private static final long AUTO_DP_CELLS = 1L << 27;
+    private static final long AUTO_DP_ROW_BYTES = 1L << 26;
+    static final long AUTO_NODE_LIMIT = 10000000;
+    private final ForkJoinPool pool;
+    private final EngineMetrics metrics = new EngineMetrics();
+
+
+
+    /**
+     * Default constructor; fitness is evaluated on the calling thread
+     */
+    public GeneticEngine() {
+        this(1);
+    }
+
+
+    /**
+     * Constructor with number of threads for fitness evaluation
+     * @param int - evaluation threads shared by all solves; 1 for none
+     */
+    public GeneticEngine(int number_of_threads) {
+        this.pool = number_of_threads > 1 ? new ForkJoinPool(number_of_threads) : null;
+    }
+
+
+    /**
+     * Solves a problem without reporting progress
+     * @param KnapsackInstance - problem to solve
+     * @param GeneticConfig - algorithm parameters
+     * @return KnapsackResult - best solution and history
+     */
+    public KnapsackResult solve(KnapsackInstance instance, GeneticConfig config) {
+        return solve(instance, config, GenerationReporter.silent());
+    }
+
+
+    /**
+     * Solves a problem, reporting progress of every generation
+     * @param KnapsackInstance - problem to solve
+     * @param GeneticConfig - algorithm parameters
+     * @param GenerationReporter - output of algorithm details
+     * @return KnapsackResult - best solution and history
+     */
+    public KnapsackResult solve(KnapsackInstance instance, GeneticConfig config,
+            GenerationReporter reporter) {
+        return solve(instance, config, reporter, null);
+    }
+
+
+    /**
+     * Solves a problem, reusing working storage of an earlier solve on the
+     * same thread if sizes match (island runs allocate their own)
+     * @param KnapsackInstance - problem to solve
+     * @param GeneticConfig - algorithm parameters
+     * @param GenerationReporter - output of algorithm details
+     * @param RunScratch - storage to reuse, or null to allocate afresh
+     * @return KnapsackResult - best solution and history
+     */
+    KnapsackResult solve(KnapsackInstance instance, GeneticConfig config, GenerationReporter reporter,
+            RunScratch scratch) {
+        try {
+            KnapsackResult exact = solveExactly(instance, config.getEngine(), reporter);
+            if(exact != null) {
+                return exact;
+            }
+            if(config.getIslands() > 1) {
+                IslandModel islands = new IslandModel(instance, config, reporter, pool);
+                islands.publishTo(metrics);
+                return islands.solve();
+            }
+            GeneticRun run = new GeneticRun(instance, config, reporter, pool, scratch);
+            run.publishTo(metrics);
+            return run.solve();
+        }
+        finally {
+            reporter.flush();
+        }
+    }
+
+
+    /**
+     * Solves a problem with an exact engine, if the engine is one
+     * @param KnapsackInstance - problem to solve
+     * @param String - engine name: ga, dp, bnb or auto
+     * @param GenerationReporter - output of engine used
+     * @return KnapsackResult - optimal solution, or null to use genetic algorithm
+     */
+    private static KnapsackResult solveExactly(KnapsackInstance instance, String engine,
+            GenerationReporter reporter) {
+        if(engine.equals("dp") || (engine.equals("auto") && isSmall(instance))) {
+            reporter.engine("dynamic programming");
+            return DynamicProgrammingSolver.solve(instance);
+        }
+        if(engine.equals("bnb")) {
+            reporter.engine("branch and bound");
+            return BranchAndBoundSolver.solve(instance, Long.MAX_VALUE);
+        }
+        if(engine.equals("auto")) {
+            KnapsackResult result = BranchAndBoundSolver.solve(instance, AUTO_NODE_LIMIT);
+            reporter.engine(result != null ? "branch and bound" : "genetic algorithm");
+            return result;
+        }
+        return null;
+    }
+
+
+    /**
+     * Whether a problem is small enough for auto to solve it by dynamic
+     * programming
+     * @param KnapsackInstance - problem to solve
+     * @return boolean - true if within AUTO_DP_CELLS and AUTO_DP_ROW_BYTES
+     */
+    static boolean isSmall(KnapsackInstance instance) {
+        return DynamicProgrammingSolver.isApplicable(instance, AUTO_DP_CELLS, AUTO_DP_ROW_BYTES);
+    }
+
+
+    /**
+     * Timers and counters of all runs with stats on, so far
+     * @return EngineMetricsMXBean - engine's metrics
+     */
+    public EngineMetricsMXBean metrics() {
+        return metrics;
+    }
+
+
+    /**
+     * Shuts down evaluation worker pool and unregisters metrics
+     */
+    @Override
+    public void close() {
+        if(pool != null) {
+            pool.shutdown();
+        }
+        metrics.unregister();
+    }
+
+} // GeneticEngine
@@ -0,0 +1,967 @@
+package knapsack;
+
+/**
+ * @filename:       GeneticRun.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    State and logic of a single genetic algorithm solve of
+ *                  a knapsack problem: breeds generations until a stop
+ *                  criterion is met, keeping the best solution and a
+ *                  bounded fitness history; a run is reproduced exactly
+ *                  by its seed
+ */
+
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+class GeneticRun {
+
+    private static final int PARALLEL_GRAIN = 256;
+    private static final int RECENT_GENERATIONS = 256;
+    private boolean verbose = false;
+    private boolean mutation = false;
+    private boolean stopped = false;
+    private int crossover_count = 0;
+    private int clone_count = 0;
+    private int number_of_items = 0;
+    private int population_size = 0;
+    private int maximum_generations = 0;
+    private int generation_counter = 1;
+    private long seed = 0;
+    private double knapsack_capacity = 0;
+    private double prob_crossover = 0;
+    private double prob_mutation = 0;
+    private double total_fitness_of_generation = 0;
+    private double[] fitness;
+    private KnapsackItems items;
+    private DoubleSeries best_fitness_of_generation;
+    private DoubleSeries mean_fitness_of_generation;
+    private FitnessHistory history;
+    private int breed_size = 0;
+    private Chromosome[] population;
+    private Chromosome[] breed_population;
+    private Chromosome best_solution;
+    private double best_fitness = 0;
+    private int best_generation = 0;
+    private Chromosome elite;
+    private ForkJoinPool pool;
+    private Selection selection;
+    private GenerationReporter reporter;
+    private SplittableRandom generator;
+    private Checkpoint checkpoint;
+    private int checkpoint_interval = 0;
+    private boolean resume = false;
+    private FitnessCache cache;
+    private RatioIndex ratio_index;
+    private boolean repair = false;
+    private int greedy_count = 0;
+    private ArrayList<StopCriterion> stop_criteria = new ArrayList<StopCriterion>();
+    private long evaluations = 0;
+    private long start_time = 0;
+    private RunMetrics metrics;
+    private EngineMetrics engine_metrics;
+    private int stats_interval = 0;
+    private ProgressSink progress;
+    private RunScratch scratch;
+
+
+
+    /**
+     * Default constructor; a run is used once, on the thread that drives
+     * it (evaluation may fan out to the worker pool)
+     * @param KnapsackInstance - problem to solve
+     * @param GeneticConfig - algorithm parameters
+     * @param GenerationReporter - output of algorithm details
+     * @param ForkJoinPool - evaluation worker pool, or null for none
+     */
+    GeneticRun(KnapsackInstance instance, GeneticConfig config, GenerationReporter reporter,
+            ForkJoinPool pool) {
+        this(instance, config, reporter, pool, (RunScratch) null);
+    }
+
+
+    /**
+     * Constructor with working storage left by an earlier run
+     * @param KnapsackInstance - problem to solve
+     * @param GeneticConfig - algorithm parameters
+     * @param GenerationReporter - output of algorithm details
+     * @param ForkJoinPool - evaluation worker pool, or null for none
+     * @param RunScratch - storage to reuse, or null to allocate afresh
+     */
+    GeneticRun(KnapsackInstance instance, GeneticConfig config, GenerationReporter reporter,
+            ForkJoinPool pool, RunScratch scratch) {
+        this(instance, config, reporter, pool,
+            config.hasSeed() ? config.getSeed() : new SplittableRandom().nextLong(), scratch);
+        if(config.getCheckpointFile() != null) {
+            this.checkpoint = new Checkpoint(config.getCheckpointFile());
+            this.checkpoint_interval = config.getCheckpointInterval();
+            this.resume = config.isResume();
+        }
+        if(config.getProgressFile() != null) {
+            this.progress = new ProgressSink(config.getProgressFile(), config.getProgressFormat(),
+                this.resume && this.checkpoint.exists());
+        }
+    }
+
+
+    /**
+     * Constructor with random seed given apart from config, e.g. for one
+     * of several populations solving the same problem
+     * @param KnapsackInstance - problem to solve
+     * @param GeneticConfig - algorithm parameters
+     * @param GenerationReporter - output of algorithm details
+     * @param ForkJoinPool - evaluation worker pool, or null for none
+     * @param long - random seed
+     */
+    GeneticRun(KnapsackInstance instance, GeneticConfig config, GenerationReporter reporter,
+            ForkJoinPool pool, long seed) {
+        this(instance, config, reporter, pool, seed, null);
+    }
+
+
+    /**
+     * Constructor with random seed and working storage given apart
+     * @param KnapsackInstance - problem to solve
+     * @param GeneticConfig - algorithm parameters
+     * @param GenerationReporter - output of algorithm details
+     * @param ForkJoinPool - evaluation worker pool, or null for none
+     * @param long - random seed
+     * @param RunScratch - storage to reuse, or null to allocate afresh
+     */
+    GeneticRun(KnapsackInstance instance, GeneticConfig config, GenerationReporter reporter,
+            ForkJoinPool pool, long seed, RunScratch scratch) {
+        this.scratch = scratch;
+        this.items = instance.getItems();
+        this.number_of_items = items.size();
+        this.knapsack_capacity = instance.getCapacity();
+        this.population_size = config.getPopulationSize();
+        this.maximum_generations = config.getMaximumGenerations();
+        this.prob_crossover = config.getCrossoverProbability();
+        this.prob_mutation = config.getMutationProbability();
+        this.selection = scratch != null ? scratch.selection(config) : config.newSelection();
+        this.seed = seed;
+        this.generator = new SplittableRandom(this.seed);
+        this.reporter = reporter;
+        this.verbose = reporter.isVerbose();
+        this.pool = pool;
+        int recent_generations = Math.max(RECENT_GENERATIONS, config.getStagnationWindow() + 2);
+        if(scratch != null) {
+            this.mean_fitness_of_generation = scratch.meanFitness(recent_generations);
+            this.best_fitness_of_generation = scratch.bestFitness(recent_generations);
+            this.history = scratch.history(config.getHistoryCapacity());
+        }
+        else {
+            this.mean_fitness_of_generation = DoubleSeries.bounded(recent_generations);
+            this.best_fitness_of_generation = DoubleSeries.bounded(recent_generations);
+            this.history = new FitnessHistory(config.getHistoryCapacity());
+        }
+        if(config.getFitnessCacheSize() > 0) {
+            this.cache = scratch != null ? scratch.cache(config.getFitnessCacheSize())
+                : new FitnessCache(config.getFitnessCacheSize());
+        }
+        this.repair = config.isRepair();
+        this.greedy_count = (int) Math.round(config.getSeedFraction() * this.population_size);
+        if(this.repair || this.greedy_count > 0) {
+            this.ratio_index = instance.ratioIndex();
+        }
+        this.stop_criteria.addAll(config.getStopCriteria());
+        if(config.isStopAtUpperBound()) {
+            this.stop_criteria.add(StopCriterion.upperBound(
+                instance.ratioIndex().upperBound(this.items, this.knapsack_capacity)));
+        }
+        this.stats_interval = config.getStatsInterval();
+        if(this.stats_interval > 0) {
+            this.metrics = new RunMetrics();
+        }
+    }
+
+
+    /**
+     * Publishes the run's timers and counters to an engine's metrics every
+     * generation, if stats are on
+     * @param EngineMetrics - engine's metrics
+     */
+    void publishTo(EngineMetrics engine_metrics) {
+        if(this.metrics != null) {
+            this.engine_metrics = engine_metrics;
+            engine_metrics.runStarted();
+        }
+    }
+
+
+    /**
+     * Runs the genetic algorithm to completion
+     * @return KnapsackResult - best solution and history
+     */
+    KnapsackResult solve() {
+        try {
+
+            // Make first generation, or carry on from checkpoint
+            if(this.progress != null) {
+                this.progress.start();
+            }
+            if(this.resume && this.checkpoint.exists()) {
+                this.resumeFromCheckpoint();
+                if(this.progress != null) {
+                    this.progress.resumeAt(this.mean_fitness_of_generation.size());
+                }
+                this.reporter.seed(this.seed);
+                this.reporter.resumed(this.mean_fitness_of_generation.size());
+            }
+            else {
+                this.reporter.seed(this.seed);
+                this.buildKnapsackProblem();
+            }
+
+            // Breed further generations until done
+            boolean bred = true;
+            while(bred) {
+                bred = this.makeNextGeneration();
+                if(bred && this.checkpoint != null
+                        && this.mean_fitness_of_generation.size() % this.checkpoint_interval == 0) {
+                    this.saveCheckpoint();
+                }
+            }
+            if(this.metrics != null && this.mean_fitness_of_generation.size() % this.stats_interval != 0) {
+                this.reporter.stats(this.metrics.statsLine(this.mean_fitness_of_generation.size()));
+            }
+            return this.result();
+        }
+        finally {
+            try {
+                if(this.checkpoint != null) {
+                    this.checkpoint.close();
+                }
+            }
+            finally {
+                if(this.progress != null) {
+                    this.progress.close();
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Collects best solution so far, and history
+     * @return KnapsackResult - best solution and history so far
+     */
+    KnapsackResult result() {
+        return new KnapsackResult(this.best_solution.copy(), this.best_fitness, this.best_generation,
+            this.seed, this.history.copy());
+    }
+
+
+    /**
+     * Gene of the current population
+     * @param int - position in population
+     * @return Chromosome - gene, owned by the run
+     */
+    Chromosome gene(int position) {
+        return this.population[position];
+    }
+
+
+    /**
+     * Mean fitness of the current generation
+     * @return double - mean fitness
+     */
+    double meanFitness() {
+        return this.mean_fitness_of_generation.get(this.mean_fitness_of_generation.size() - 1);
+    }
+
+
+    /**
+     * Controls knapsack problem logic and creates first generation
+     */
+    void buildKnapsackProblem() {
+        this.start_time = System.nanoTime();
+        if(this.metrics != null) {
+            this.metrics.startGeneration();
+        }
+
+        // Generate initial random population (first generation)
+        this.makePopulation();
+
+        // Evaluate fitness of initial population members
+        this.evalPopulation();
+
+        // Output population and fitness summary, if verbose
+        long phase_start = this.clock();
+        if(this.verbose) {
+            this.reporter.population(1, this.population, this.fitness, this.population_size);
+        }
+
+        // Summarize generation in one pass over fitness
+        this.summarizeGeneration(0);
+        this.lap(RunMetrics.REPORTING_NANOS, phase_start);
+        this.endGeneration();
+
+    }
+
+
+    /**
+     * Makes next generation, unless maximum_generations have been made or
+     * the stopping criterion is met
+     * @return boolean - true if a generation was made
+     */
+    boolean makeNextGeneration() {
+
+        // Breeding loops maximum_generation number of times at most
+        int i = this.mean_fitness_of_generation.size();
+        if(this.stopped || i >= this.maximum_generations) {
+            return false;
+        }
+
+        // Check for stopping criteria
+        long elapsed = System.nanoTime() - this.start_time;
+        for(int c = 0; c < this.stop_criteria.size(); c++) {
+            String reason = this.stop_criteria.get(c).check(this.mean_fitness_of_generation,
+                this.best_fitness_of_generation, elapsed, this.evaluations);
+            if(reason != null) {
+                this.reporter.stopCriterion(i, reason);
+                this.stopped = true;
+                return false;
+            }
+        }
+
+        // Reset some counters
+        if(this.metrics != null) {
+            this.metrics.startGeneration();
+        }
+        this.crossover_count = 0;
+        this.clone_count = 0;
+        this.breed_size = 0;
+        this.mutation = false;
+        this.generation_counter = this.generation_counter + 1;
+
+        // If population_size is odd #, use elitism to clone best solution of previous generation
+        if(this.population_size % 2 == 1) {
+            this.breed_population[0].copyFrom(this.elite);
+            this.breed_size = 1;
+        }
+
+        // Breed population
+        for(int j = 0; j < this.population_size / 2; j++) {
+            this.breedPopulation();
+        }
+
+        // Evaluate fitness of breed population members
+        this.evalBreedPopulation();
+
+        // Swap breed_population and population; the old population's
+        // genes are overwritten in place when breeding the next generation
+        Chromosome[] swap = this.population;
+        this.population = this.breed_population;
+        this.breed_population = swap;
+
+        // Output population and fitness summary, if verbose
+        long phase_start = this.clock();
+        if(this.verbose) {
+            this.reporter.population(i + 1, this.population, this.fitness, this.population_size);
+        }
+
+        // Summarize generation in one pass over fitness
+        this.summarizeGeneration(i);
+        this.lap(RunMetrics.REPORTING_NANOS, phase_start);
+        this.endGeneration();
+        return true;
+    }
+
+
+    /**
+     * Reads the clock for timing a phase, if stats are on
+     * @return long - System.nanoTime(), or 0 with stats off
+     */
+    private long clock() {
+        return metrics != null ? System.nanoTime() : 0;
+    }
+
+
+    /**
+     * Adds time since start to a phase, if stats are on
+     * @param int - phase, e.g. RunMetrics.SELECTION_NANOS
+     * @param long - clock() at start of phase
+     */
+    private void lap(int phase, long start) {
+        if(metrics != null) {
+            metrics.lap(phase, start);
+        }
+    }
+
+
+    /**
+     * Counts a generation made, publishes its timers and counters, and
+     * outputs a stats line every stats_interval generations, if stats are on
+     */
+    private void endGeneration() {
+        if(metrics == null) {
+            return;
+        }
+        metrics.count(RunMetrics.CROSSOVERS, crossover_count);
+        metrics.count(RunMetrics.CLONES, clone_count);
+        metrics.endGeneration();
+        metrics.publish(engine_metrics);
+        int generations = mean_fitness_of_generation.size();
+        if(generations % stats_interval == 0) {
+            reporter.stats(metrics.statsLine(generations));
+        }
+    }
+
+
+    /**
+     * Copies the fittest genes of the current generation, for migration
+     * to another population
+     * @param int - number of genes to copy
+     * @return Chromosome[] - copies of fittest genes, fittest first
+     */
+    Chromosome[] emigrants(int count) {
+        count = Math.min(count, this.population_size);
+        Chromosome[] emigrants = new Chromosome[count];
+        boolean[] taken = new boolean[this.population_size];
+        for(int m = 0; m < count; m++) {
+            int best = -1;
+            for(int i = 0; i < this.population_size; i++) {
+                if(!taken[i] && (best < 0 || this.fitness[i] > this.fitness[best])) {
+                    best = i;
+                }
+            }
+            taken[best] = true;
+            emigrants[m] = this.population[best].copy();
+        }
+        return emigrants;
+    }
+
+
+    /**
+     * Replaces the least fit genes of the current generation with genes
+     * migrating from another population, then prepares selection again
+     * @param Chromosome[] - migrating genes
+     */
+    void immigrate(Chromosome[] immigrants) {
+        int count = Math.min(immigrants.length, this.population_size);
+        boolean[] replaced = new boolean[this.population_size];
+        for(int m = 0; m < count; m++) {
+            int worst = -1;
+            for(int i = 0; i < this.population_size; i++) {
+                if(!replaced[i] && (worst < 0 || this.fitness[i] < this.fitness[worst])) {
+                    worst = i;
+                }
+            }
+            replaced[worst] = true;
+            this.population[worst].copyFrom(immigrants[m]);
+            if(this.cache != null) {
+                this.cache.evaluate(this.population[worst], this.items);
+            }
+            this.fitness[worst] = this.evalGene(this.population[worst]);
+        }
+        this.evaluations = this.evaluations + count;
+        if(this.metrics != null) {
+            this.metrics.count(RunMetrics.EVALUATIONS, count);
+        }
+        this.total_fitness_of_generation = 0;
+        for(int i = 0; i < this.population_size; i++) {
+            this.total_fitness_of_generation = this.total_fitness_of_generation + this.fitness[i];
+        }
+        this.selection.prepare(this.fitness, this.population_size,
+            this.total_fitness_of_generation, this.generator);
+    }
+
+
+    /**
+     * Saves state of run to checkpoint file in the background: population
+     * with totals, best solution, recent and bounded history, genes
+     * evaluated, and a new seed for the generator; the generator is
+     * reseeded even if the previous snapshot is still being written and
+     * this one is skipped
+     */
+    private void saveCheckpoint() {
+
+        // Reseed generator, so a resumed run can reseed it the same way
+        long generator_seed = this.generator.nextLong();
+        this.generator = new SplittableRandom(generator_seed);
+        this.selection.prepare(this.fitness, this.population_size,
+            this.total_fitness_of_generation, this.generator);
+        if(this.checkpoint.isBusy()) {
+            return;
+        }
+
+        // Fill snapshot
+        int generations = this.mean_fitness_of_generation.size();
+        int first_recent = this.mean_fitness_of_generation.first();
+        long gene_bytes = (long) ((this.number_of_items + 63) >>> 6) << 3;
+        ByteBuffer snapshot = Checkpoint.allocate(64 + (generations - first_recent) * 16L
+            + 28 + gene_bytes + this.history.snapshotBytes() + this.population_size * (16 + gene_bytes));
+        snapshot.putInt(this.number_of_items);
+        snapshot.putInt(this.population_size);
+        snapshot.putDouble(this.knapsack_capacity);
+        snapshot.putLong(this.itemsHash());
+        snapshot.putLong(this.seed);
+        snapshot.putLong(generator_seed);
+        snapshot.putInt(generations);
+        snapshot.putLong(this.evaluations);
+        snapshot.putInt(generations - first_recent);
+        for(int g = first_recent; g < generations; g++) {
+            snapshot.putDouble(this.mean_fitness_of_generation.get(g));
+            snapshot.putDouble(this.best_fitness_of_generation.get(g));
+        }
+        snapshot.putDouble(this.best_fitness);
+        snapshot.putInt(this.best_generation);
+        snapshot.putDouble(this.best_solution.totalWeight());
+        snapshot.putDouble(this.best_solution.totalValue());
+        Checkpoint.putGene(snapshot, this.best_solution);
+        this.history.put(snapshot);
+        for(int i = 0; i < this.population_size; i++) {
+            snapshot.putDouble(this.population[i].totalWeight());
+            snapshot.putDouble(this.population[i].totalValue());
+            Checkpoint.putGene(snapshot, this.population[i]);
+        }
+
+        // Write in the background
+        this.checkpoint.save(snapshot);
+    }
+
+
+    /**
+     * Restores state of run from checkpoint file, in place of making the
+     * first generation
+     */
+    private void resumeFromCheckpoint() {
+        this.start_time = System.nanoTime();
+        try {
+            this.restore(this.checkpoint.load());
+        }
+        catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        catch(BufferUnderflowException e) {
+            throw new UncheckedIOException(new IOException("Checkpoint file is truncated"));
+        }
+    }
+
+
+    /**
+     * Restores state of run from a checkpoint snapshot
+     * @param ByteBuffer - snapshot, positioned after magic number and version
+     */
+    private void restore(ByteBuffer snapshot) {
+
+        // Check checkpoint is of this problem
+        if(snapshot.getInt() != this.number_of_items || snapshot.getInt() != this.population_size
+                || snapshot.getDouble() != this.knapsack_capacity || snapshot.getLong() != this.itemsHash()) {
+            throw new IllegalArgumentException("Checkpoint is of a different problem or population size");
+        }
+        this.seed = snapshot.getLong();
+        this.generator = new SplittableRandom(snapshot.getLong());
+
+        // Restore recent history, best solution and bounded history
+        int generations = snapshot.getInt();
+        long evaluations = snapshot.getLong();
+        int recent = snapshot.getInt();
+        if(generations < 1 || recent < 1 || recent > generations) {
+            throw new IllegalArgumentException("Checkpoint history is inconsistent");
+        }
+        this.mean_fitness_of_generation.skip(generations - recent);
+        this.best_fitness_of_generation.skip(generations - recent);
+        for(int g = 0; g < recent; g++) {
+            this.mean_fitness_of_generation.add(snapshot.getDouble());
+            this.best_fitness_of_generation.add(snapshot.getDouble());
+        }
+        this.best_fitness = snapshot.getDouble();
+        this.best_generation = snapshot.getInt();
+        double best_weight = snapshot.getDouble();
+        double best_value = snapshot.getDouble();
+        this.best_solution = new Chromosome(this.number_of_items);
+        Checkpoint.getGene(snapshot, this.best_solution);
+        this.best_solution.restoreTotals(best_weight, best_value);
+        this.history = FitnessHistory.get(snapshot);
+        if(this.history == null || this.history.generations() != generations) {
+            throw new IllegalArgumentException("Checkpoint history is inconsistent");
+        }
+        this.generation_counter = generations;
+
+        // Restore population, then fitness and selection from it
+        this.allocatePopulation();
+        for(int i = 0; i < this.population_size; i++) {
+            double weight = snapshot.getDouble();
+            double value = snapshot.getDouble();
+            this.population[i].clearAll();
+            Checkpoint.getGene(snapshot, this.population[i]);
+            this.population[i].restoreTotals(weight, value);
+        }
+        this.evalPopulation();
+        this.evaluations = evaluations;
+
+        // Best gene of last generation, cloned by elitism
+        if(this.population_size % 2 == 1) {
+            GenerationStats stats = GenerationStats.compute(this.fitness, this.population,
+                this.population_size, this.knapsack_capacity);
+            this.elite = this.population[stats.bestIndex()].copy();
+        }
+    }
+
+
+    /**
+     * Hash of item weights and values, to tell problems apart
+     * @return long - hash of items
+     */
+    private long itemsHash() {
+        long hash = 1;
+        for(int i = 0; i < this.number_of_items; i++) {
+            hash = 31 * hash + Double.doubleToLongBits(this.items.weight(i));
+            hash = 31 * hash + Double.doubleToLongBits(this.items.value(i));
+        }
+        return hash;
+    }
+
+
+    /**
+     * Records best solution so far, mean fitness and best fitness of the
+     * current generation, and outputs its summary
+     * @param int - generation index, 0 for initial generation
+     */
+    private void summarizeGeneration(int generation) {
+
+        // Compute statistics in one pass over fitness
+        GenerationStats stats = GenerationStats.compute(this.fitness, this.population,
+            this.population_size, this.knapsack_capacity);
+
+        // Keep best solution of generation if best so far, and for elitism
+        Chromosome best = this.population[stats.bestIndex()];
+        if(this.best_solution == null || stats.bestFitness() > this.best_fitness) {
+            if(this.best_solution == null) {
+                this.best_solution = new Chromosome(this.number_of_items);
+            }
+            this.best_solution.copyFrom(best);
+            this.best_fitness = stats.bestFitness();
+            this.best_generation = generation + 1;
+        }
+        if(this.population_size % 2 == 1) {
+            if(this.elite == null) {
+                this.elite = new Chromosome(this.number_of_items);
+            }
+            this.elite.copyFrom(best);
+        }
+
+        // Record mean and best fitness of generation
+        this.mean_fitness_of_generation.add(stats.meanFitness());
+        this.best_fitness_of_generation.add(stats.bestFitness());
+        this.history.add(stats.meanFitness(), stats.bestFitness());
+
+        // Output summary of generation
+        this.reporter.generation(generation + 1, stats, best,
+            this.population_size, this.crossover_count, this.clone_count, this.mutation);
+        if(this.progress != null) {
+            this.progress.generation(generation + 1, stats, this.population, this.population_size,
+                this.number_of_items);
+        }
+        if(this.cache != null) {
+            long[] counts = this.cache.takeCounts();
+            this.reporter.fitnessCache(counts[0], counts[1], counts[2]);
+            if(this.metrics != null) {
+                this.metrics.count(RunMetrics.CACHE_HITS, counts[0]);
+                this.metrics.count(RunMetrics.CACHE_MISSES, counts[1]);
+            }
+        }
+    }
+
+
+    /**
+     * Breeds current population to create a new generation's population
+     */
+    private void breedPopulation() {
+
+        // 2 genes for breeding
+        int gene_1;
+        int gene_2;
+
+        // Get positions of pair of genes for breeding
+        long phase_start = clock();
+        gene_1 = selectGene();
+        gene_2 = selectGene();
+        lap(RunMetrics.SELECTION_NANOS, phase_start);
+        
+        // Crossover or cloning
+        crossoverGenes(gene_1, gene_2);
+
+    }
+
+
+    /**
+     * Performs mutation, if necessary
+     */
+    private void mutateGene() {
+       
+        // Decide if mutation is to be used
+        double rand_mutation = generator.nextDouble();
+        if(rand_mutation <= prob_mutation) {
+
+            // If so, perform mutation
+            mutation = true;
+            if(metrics != null) {
+                metrics.count(RunMetrics.MUTATIONS, 1);
+            }
+            int mut_point = generator.nextInt(number_of_items);
+            double which_gene = generator.nextDouble() * 100;
+
+	    // Mutate gene, flipping chromosome at mut_point in place
+            if(which_gene <= 50) {
+                breed_population[breed_size - 1].flip(mut_point, items);
+            }
+            if(which_gene > 50) {
+                breed_population[breed_size - 2].flip(mut_point, items);
+            }
+        }
+    }
+
+
+    /**
+     * Selects a gene for breeding
+     * @return int - position of gene in population array to use for breeding
+     */
+    private int selectGene() {
+
+        // Strategy was prepared for this generation by evalGenes()
+        return selection.select();
+    }
+
+
+    /**
+     * Performs either crossover or cloning
+     */
+    private void crossoverGenes(int gene_1, int gene_2) {
+        long phase_start = clock();
+      
+        // Slots in breed_population to hold new genes
+        Chromosome new_gene_1 = breed_population[breed_size];
+        Chromosome new_gene_2 = breed_population[breed_size + 1];
+
+        // Decide if crossover is to be used
+        double rand_crossover = generator.nextDouble();
+        if(rand_crossover <= prob_crossover) {
+            // Perform crossover
+            crossover_count = crossover_count + 1;
+            int cross_point = generator.nextInt(number_of_items) + 1;
+
+            // Cross genes at random spot in packed words
+            new_gene_1.crossover(population[gene_1], population[gene_2], cross_point, items);
+            new_gene_2.crossover(population[gene_2], population[gene_1], cross_point, items);
+        }
+        else {
+            // Otherwise, perform cloning
+            clone_count = clone_count + 1;
+            new_gene_1.copyFrom(population[gene_1]);
+            new_gene_2.copyFrom(population[gene_2]);
+        }
+        breed_size = breed_size + 2;
+        lap(RunMetrics.CROSSOVER_NANOS, phase_start);
+
+        // Check if mutation is to be performed
+        phase_start = clock();
+        mutateGene();
+        lap(RunMetrics.MUTATION_NANOS, phase_start);
+    }
+
+
+    /**
+     * Evaluates entire population's fitness, by filling fitness array
+     * with fitness value of each corresponding population member gene
+     */
+    private void evalPopulation() {       
+        evalGenes(population);
+    }
+
+
+    /**
+     * Evaluates entire breed_population's fitness, by filling fitness array
+     * with fitness value of each corresponding breed_population member gene
+     */
+    private void evalBreedPopulation() {
+        evalGenes(breed_population);
+    }
+
+
+    /**
+     * Fills fitness array from genes, on the worker pool if one is set up,
+     * then sums total_fitness_of_generation in position order, so the total
+     * is identical whichever number of threads was used; finally prepares
+     * selection strategy for breeding from these genes
+     * @param Chromosome[] - genes to evaluate
+     */
+    private void evalGenes(Chromosome[] genes) {
+        long phase_start = clock();
+        if(pool != null && population_size >= 2 * PARALLEL_GRAIN) {
+            pool.invoke(new EvalTask(genes, 0, population_size));
+        }
+        else {
+            for(int i = 0; i < population_size; i++) {
+                fitness[i] = evalGene(genes[i]);
+            }
+        }
+        evaluations = evaluations + population_size;
+        if(metrics != null) {
+            metrics.count(RunMetrics.EVALUATIONS, population_size);
+        }
+        reevaluateFittest(genes);
+        total_fitness_of_generation = 0;
+        for(int i = 0; i < population_size; i++) {
+            total_fitness_of_generation = total_fitness_of_generation + fitness[i];
+        }
+        lap(RunMetrics.EVALUATION_NANOS, phase_start);
+        phase_start = clock();
+        selection.prepare(fitness, population_size, total_fitness_of_generation, generator);
+        lap(RunMetrics.SELECTION_NANOS, phase_start);
+    }
+
+
+    /**
+     * Sums the fittest gene's totals afresh and rescores it, again for the
+     * new fittest gene if that changes its fitness; totals updated by
+     * crossover and mutation gather rounding error with non-integer
+     * weights, which elitism would carry on from generation to generation,
+     * so the gene kept as best solution or elite is always exact
+     * @param Chromosome[] - evaluated genes
+     */
+    private void reevaluateFittest(Chromosome[] genes) {
+        while(true) {
+            int fittest = 0;
+            for(int i = 1; i < population_size; i++) {
+                if(fitness[i] > fitness[fittest]) {
+                    fittest = i;
+                }
+            }
+            double fitness_before = fitness[fittest];
+            genes[fittest].reevaluate(items);
+            fitness[fittest] = evalGene(genes[fittest]);
+            if(fitness[fittest] == fitness_before) {
+                return;
+            }
+        }
+    }
+
+
+    /**
+     * Fork/join task evaluating genes [from, to) into fitness array,
+     * splitting in half until a range is at most PARALLEL_GRAIN genes
+     */
+    private class EvalTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+        private final Chromosome[] genes;
+        private final int from;
+        private final int to;
+
+        EvalTask(Chromosome[] genes, int from, int to) {
+            this.genes = genes;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if(to - from <= PARALLEL_GRAIN) {
+                for(int i = from; i < to; i++) {
+                    fitness[i] = evalGene(genes[i]);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new EvalTask(genes, from, middle), new EvalTask(genes, middle, to));
+        }
+    }
+
+
+    /**
+     * Evaluates a single gene's fitness, by calculating the total_weight
+     * of items selected by the gene; genes bred by cloning, crossover or
+     * mutation already carry their totals, so only genes of unknown
+     * origin (e.g. the random first generation) are summed item by item;
+     * package-private so KnapsackBenchmark can time it
+     * @return double - gene's total fitness value
+     */
+    double evalGene(Chromosome gene) {
+        double fitness_value = 0;
+        double difference = 0;
+
+        // Get total_weight associated with items selected by this gene
+        gene.evaluate(items);
+
+        // Repair gene if over capacity
+        if(repair) {
+            ratio_index.repair(gene, items, knapsack_capacity);
+        }
+        double total_weight = gene.totalWeight();
+        double total_value = gene.totalValue();
+
+        // Check if gene's total weight is less than knapsack capacity
+        difference = knapsack_capacity - total_weight;
+        if(difference >= 0) {
+            // This is acceptable; calculate a fitness_value
+            // Otherwise, fitness_value remains 0 (default), since knapsack
+            // cannot hold all items selected by gene
+            // Fitness value is simply total value of acceptable permutation,
+            // and for unacceptable permutation is set to '0'
+            fitness_value = total_value;
+        }
+        
+        // Return fitness value
+        return fitness_value;
+    }
+
+
+    /**  
+     * Makes a population by filling population array with genes of
+     * length number_of_items, each element a gene of randomly generated
+     * chromosomes (1s and 0s); also allocates breed_population, whose
+     * genes are reused in place every generation; package-private so
+     * KnapsackBenchmark can time it
+     */
+    void makePopulation() {
+        allocatePopulation();
+        for(int i = 0; i < population_size; i++) {
+            population[i].randomize(generator);
+        }
+
+        // Seed first genes with greedy solutions: one filled from empty by
+        // ratio, the rest random genes made to fit and then filled
+        for(int i = 0; i < greedy_count; i++) {
+            if(i == 0) {
+                population[i].clearAll();
+            }
+            population[i].evaluate(items);
+            if(!ratio_index.repair(population[i], items, knapsack_capacity)) {
+                ratio_index.fill(population[i], items, knapsack_capacity);
+            }
+        }
+    }
+
+
+    /**
+     * Allocates fitness array, population and breed_population, or takes
+     * them from the scratch storage; genes are overwritten before use
+     */
+    private void allocatePopulation() {
+        if(scratch != null) {
+            scratch.fit(population_size, number_of_items);
+            fitness = scratch.fitness;
+            population = scratch.population;
+            breed_population = scratch.breed_population;
+            return;
+        }
+        fitness = new double[population_size];
+        population = new Chromosome[population_size];
+        breed_population = new Chromosome[population_size];
+        for(int i = 0; i < population_size; i++) {
+            population[i] = new Chromosome(number_of_items);
+            breed_population[i] = new Chromosome(number_of_items);
+        }
+    }
+
+} // GeneticRun
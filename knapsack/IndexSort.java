@@ -0,0 +1,109 @@
+package knapsack;
+
+/**
+ * @filename:       IndexSort.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Sorts positions of an array by the doubles at them,
+ *                  without boxing: each double becomes a long that sorts
+ *                  as Double.compare orders doubles, the longs are sorted
+ *                  as primitives, then each position is placed at the
+ *                  first slot of its key plus the number of earlier
+ *                  positions with the same key, so equal values keep the
+ *                  order of their positions, as a stable sort would
+ * @usage:          IndexSort.ascending(fitness, population_size, order, keys, placed);
+ */
+
+
+import java.util.Arrays;
+
+final class IndexSort {
+
+    /**
+     * Not instantiable
+     */
+    private IndexSort() {
+    }
+
+
+    /**
+     * Sorts positions by ascending value
+     * @param double[] - values
+     * @param int - number of positions, from 0
+     * @param int[] - filled with positions in order, at least count long
+     * @param long[] - work array, at least count long
+     * @param int[] - work array, at least count long
+     */
+    static void ascending(double[] values, int count, int[] order, long[] keys, int[] placed) {
+        sort(values, count, order, keys, placed, false);
+    }
+
+
+    /**
+     * Sorts positions by descending value
+     * @param double[] - values
+     * @param int - number of positions, from 0
+     * @param int[] - filled with positions in order, at least count long
+     * @param long[] - work array, at least count long
+     * @param int[] - work array, at least count long
+     */
+    static void descending(double[] values, int count, int[] order, long[] keys, int[] placed) {
+        sort(values, count, order, keys, placed, true);
+    }
+
+
+    /**
+     * Sorts positions by value, equal values in order of position
+     */
+    private static void sort(double[] values, int count, int[] order, long[] keys, int[] placed,
+            boolean descending) {
+        for(int i = 0; i < count; i++) {
+            keys[i] = key(values[i], descending);
+        }
+        Arrays.sort(keys, 0, count);
+        Arrays.fill(placed, 0, count, 0);
+        for(int i = 0; i < count; i++) {
+            int first = firstSlot(keys, count, key(values[i], descending));
+            order[first + placed[first]] = i;
+            placed[first] = placed[first] + 1;
+        }
+    }
+
+
+    /**
+     * Long ordered as Double.compare orders doubles (-0.0 before 0.0, NaN
+     * last), bits inverted to reverse the order
+     * @param double - value
+     * @param boolean - true for descending order
+     * @return long - sort key
+     */
+    private static long key(double value, boolean descending) {
+        long bits = Double.doubleToLongBits(value);
+        bits = bits ^ ((bits >> 63) & Long.MAX_VALUE);
+        return descending ? ~bits : bits;
+    }
+
+
+    /**
+     * First slot of a key in sorted keys
+     * @param long[] - sorted keys
+     * @param int - number of keys
+     * @param long - key, present in keys
+     * @return int - lowest slot holding key
+     */
+    private static int firstSlot(long[] keys, int count, long key) {
+        int low = 0;
+        int high = count;
+        while(low < high) {
+            int middle = (low + high) >>> 1;
+            if(keys[middle] < key) {
+                low = middle + 1;
+            }
+            else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+} // IndexSort
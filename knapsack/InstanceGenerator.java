@@ -0,0 +1,111 @@
+package knapsack;
+
+/**
+ * @filename:       InstanceGenerator.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Generates seeded random knapsack instances of the usual
+ *                  benchmark types, weights uniform in [1, range] and
+ *                  values: uncorrelated (uniform in [1, range]), weakly
+ *                  correlated (weight +/- range / 10, at least 1),
+ *                  strongly correlated (weight + range / 10) or subset-sum
+ *                  (equal to weight); capacity is half the total weight;
+ *                  the same type, size and seed always give the same
+ *                  instance; main method prints an instance in
+ *                  ProblemFile format
+ * @usage:          java InstanceGenerator <type> <number_of_items> <seed>
+ *                      [<population_size> <maximum_generations>]
+ */
+
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+public class InstanceGenerator {
+
+    public static final String[] TYPES = {"uncorrelated", "weak", "strong", "subset-sum"};
+    private static final int DEFAULT_RANGE = 1000;
+
+
+
+    /**
+     * Main method; prints a generated instance to System.out
+     */
+    public static void main(String[] args) throws IOException {
+        if(args.length != 3 && args.length != 5) {
+            System.err.println("Usage: java knapsack.InstanceGenerator <type> <number_of_items> <seed>"
+                + " [<population_size> <maximum_generations>]");
+            System.err.println("Types: uncorrelated, weak, strong, subset-sum");
+            System.exit(1);
+        }
+        KnapsackInstance instance = generate(args[0], Integer.parseInt(args[1]), Long.parseLong(args[2]));
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16);
+        out.write("# " + args[0] + " instance, seed " + args[2] + "\n");
+        out.write("capacity=" + instance.getCapacity() + "\n");
+        out.write("population_size=" + (args.length == 5 ? args[3] : "100") + "\n");
+        out.write("maximum_generations=" + (args.length == 5 ? args[4] : "100") + "\n");
+        out.write("crossover_probability=0.8\n");
+        out.write("mutation_probability=0.1\n");
+        out.write("items=" + instance.size() + "\n");
+        KnapsackItems items = instance.getItems();
+        for(int i = 0; i < items.size(); i++) {
+            out.write((long) items.value(i) + "," + (long) items.weight(i) + "\n");
+        }
+        out.flush();
+    }
+
+
+    /**
+     * Generates an instance with the default value/weight range of 1000
+     * @param String - uncorrelated, weak, strong or subset-sum
+     * @param int - number of items
+     * @param long - random seed
+     * @return KnapsackInstance - generated instance
+     */
+    public static KnapsackInstance generate(String type, int number_of_items, long seed) {
+        return generate(type, number_of_items, seed, DEFAULT_RANGE);
+    }
+
+
+    /**
+     * Generates an instance
+     * @param String - uncorrelated, weak, strong or subset-sum
+     * @param int - number of items
+     * @param long - random seed
+     * @param int - largest weight (and uncorrelated value)
+     * @return KnapsackInstance - generated instance
+     */
+    public static KnapsackInstance generate(String type, int number_of_items, long seed, int range) {
+        SplittableRandom generator = new SplittableRandom(seed);
+        KnapsackItems items = new KnapsackItems(number_of_items);
+        double total_weight = 0;
+        int spread = Math.max(1, range / 10);
+        for(int i = 0; i < number_of_items; i++) {
+            int weight = generator.nextInt(range) + 1;
+            int value;
+            if(type.equals("uncorrelated")) {
+                value = generator.nextInt(range) + 1;
+            }
+            else if(type.equals("weak")) {
+                value = Math.max(1, weight + generator.nextInt(2 * spread + 1) - spread);
+            }
+            else if(type.equals("strong")) {
+                value = weight + spread;
+            }
+            else if(type.equals("subset-sum")) {
+                value = weight;
+            }
+            else {
+                throw new IllegalArgumentException("Unknown instance type: " + type);
+            }
+            items.add(value, weight);
+            total_weight = total_weight + weight;
+        }
+        return new KnapsackInstance(items, Math.floor(total_weight / 2));
+    }
+
+} // InstanceGenerator
@@ -0,0 +1,210 @@
+package knapsack;
+
+/**
+ * @filename:       IslandCoordinator.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Island model spread over several processes: waits for
+ *                  one IslandWorker per island to connect on a local port,
+ *                  sends each the problem, parameters and its own seed
+ *                  (derived from the run's seed as in IslandModel), then
+ *                  every migration_interval generations collects each
+ *                  worker's fittest genes and progress, routes the genes
+ *                  to their target islands (ring or random topology) and
+ *                  reports best and mean fitness over all islands; when
+ *                  every worker is done, combines their results; for the
+ *                  same seed the result is the same as an IslandModel run
+ * @usage:          KnapsackResult result = new IslandCoordinator(port)
+ *                      .solve(instance, config, reporter);
+ *                  with config.getIslands() workers started as
+ *                  java knapsack/IslandWorker localhost <port>
+ */
+
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.SplittableRandom;
+
+public class IslandCoordinator {
+
+    private final int port;
+
+
+
+    /**
+     * Constructor with port to listen on, on the loopback address
+     * @param int - port workers connect to
+     */
+    public IslandCoordinator(int port) {
+        this.port = port;
+    }
+
+
+    /**
+     * Solves a problem with one connected worker per island
+     * @param KnapsackInstance - problem to solve
+     * @param GeneticConfig - algorithm parameters
+     * @param GenerationReporter - output of progress and island summaries
+     * @return KnapsackResult - best solution of all islands, and history
+     */
+    public KnapsackResult solve(KnapsackInstance instance, GeneticConfig config,
+            GenerationReporter reporter) throws IOException {
+        int number_of_islands = config.getIslands();
+        int length = instance.size();
+        long seed = config.hasSeed() ? config.getSeed() : new SplittableRandom().nextLong();
+        reporter.seed(seed);
+
+        // Island seeds and topology generators, as IslandModel makes them
+        SplittableRandom master = new SplittableRandom(seed);
+        long[] island_seeds = new long[number_of_islands];
+        SplittableRandom[] topology_generators = new SplittableRandom[number_of_islands];
+        for(int i = 0; i < number_of_islands; i++) {
+            island_seeds[i] = master.nextLong();
+            topology_generators[i] = master.split();
+        }
+
+        Socket[] sockets = new Socket[number_of_islands];
+        DataInputStream[] inputs = new DataInputStream[number_of_islands];
+        DataOutputStream[] outputs = new DataOutputStream[number_of_islands];
+        KnapsackResult[] results = new KnapsackResult[number_of_islands];
+        try(ServerSocket server = new ServerSocket(port, number_of_islands, InetAddress.getLoopbackAddress())) {
+
+            // Wait for every worker, in order of connection
+            for(int i = 0; i < number_of_islands; i++) {
+                sockets[i] = server.accept();
+                sockets[i].setTcpNoDelay(true);
+                inputs[i] = new DataInputStream(new BufferedInputStream(sockets[i].getInputStream(),
+                    IslandProtocol.BUFFER_SIZE));
+                outputs[i] = new DataOutputStream(new BufferedOutputStream(sockets[i].getOutputStream(),
+                    IslandProtocol.BUFFER_SIZE));
+                if(inputs[i].readInt() != IslandProtocol.MAGIC || inputs[i].readInt() != IslandProtocol.VERSION) {
+                    throw new IOException("Connection " + (i + 1) + " is not an island worker");
+                }
+                writeSetup(outputs[i], i, island_seeds[i], instance, config);
+            }
+
+            // Exchange migrants every epoch until all workers are done
+            int running = number_of_islands;
+            while(running > 0) {
+                Chromosome[][] emigrants = new Chromosome[number_of_islands][];
+                int[] targets = new int[number_of_islands];
+                int generation = 0;
+                int migrating = 0;
+                double best_fitness = 0;
+                double mean_fitness = 0;
+                for(int i = 0; i < number_of_islands; i++) {
+                    if(results[i] != null) {
+                        continue;
+                    }
+                    byte type = inputs[i].readByte();
+                    if(type == IslandProtocol.DONE) {
+                        results[i] = IslandProtocol.readResult(inputs[i], length);
+                        running = running - 1;
+                    }
+                    else if(type == IslandProtocol.MIGRATE) {
+                        generation = inputs[i].readInt();
+                        double island_best = inputs[i].readDouble();
+                        best_fitness = migrating == 0 ? island_best : Math.max(best_fitness, island_best);
+                        mean_fitness = mean_fitness + inputs[i].readDouble();
+                        migrating = migrating + 1;
+                        emigrants[i] = IslandProtocol.readGenes(inputs[i], length);
+                        if(emigrants[i].length > 0) {
+                            targets[i] = IslandModel.target(i, number_of_islands,
+                                config.getMigrationTopology(), topology_generators[i]);
+                        }
+                    }
+                    else {
+                        throw new IOException("Unknown message " + type + " from island " + (i + 1));
+                    }
+                }
+                if(migrating == 0) {
+                    continue;
+                }
+                reporter.islandProgress(generation, best_fitness, mean_fitness / migrating, migrating);
+
+                // Send each migrating island the genes sent to it, in island order
+                for(int i = 0; i < number_of_islands; i++) {
+                    if(emigrants[i] == null) {
+                        continue;
+                    }
+                    int batches = 0;
+                    for(int source = 0; source < number_of_islands; source++) {
+                        if(emigrants[source] != null && emigrants[source].length > 0 && targets[source] == i) {
+                            batches = batches + 1;
+                        }
+                    }
+                    outputs[i].writeInt(batches);
+                    for(int source = 0; source < number_of_islands; source++) {
+                        if(emigrants[source] != null && emigrants[source].length > 0 && targets[source] == i) {
+                            IslandProtocol.writeGenes(outputs[i], emigrants[source]);
+                        }
+                    }
+                    outputs[i].flush();
+                }
+            }
+        }
+        finally {
+            for(int i = 0; i < number_of_islands; i++) {
+                if(sockets[i] != null) {
+                    sockets[i].close();
+                }
+            }
+        }
+
+        // Summarize islands
+        for(int i = 0; i < number_of_islands; i++) {
+            reporter.island(i, results[i]);
+        }
+        return IslandModel.combine(results, seed);
+    }
+
+
+    /**
+     * Sends a worker its island number, seed, problem and parameters
+     * @param DataOutputStream - stream to worker
+     * @param int - island number
+     * @param long - island seed
+     * @param KnapsackInstance - problem to solve
+     * @param GeneticConfig - algorithm parameters
+     */
+    private static void writeSetup(DataOutputStream out, int island, long seed,
+            KnapsackInstance instance, GeneticConfig config) throws IOException {
+        out.writeInt(island);
+        out.writeLong(seed);
+        KnapsackItems items = instance.getItems();
+        out.writeInt(items.size());
+        out.writeDouble(instance.getCapacity());
+        for(int i = 0; i < items.size(); i++) {
+            out.writeDouble(items.weight(i));
+            out.writeDouble(items.value(i));
+        }
+        out.writeInt(config.getPopulationSize());
+        out.writeInt(config.getMaximumGenerations());
+        out.writeDouble(config.getCrossoverProbability());
+        out.writeDouble(config.getMutationProbability());
+        out.writeUTF(config.getSelectionName());
+        out.writeInt(config.getTournamentSize());
+        out.writeInt(config.getMigrationInterval());
+        out.writeInt(config.getMigrationSize());
+        out.writeInt(config.getFitnessCacheSize());
+        out.writeDouble(config.getSeedFraction());
+        out.writeBoolean(config.isRepair());
+        out.writeInt(config.getStagnationWindow());
+        out.writeDouble(config.getStagnationEpsilon());
+        out.writeBoolean(config.isStagnationOnBest());
+        out.writeBoolean(config.hasTargetFitness());
+        out.writeDouble(config.hasTargetFitness() ? config.getTargetFitness() : 0);
+        out.writeLong(config.getEvaluationBudget());
+        out.writeLong(config.getTimeLimit());
+        out.writeBoolean(config.isStopAtUpperBound());
+        out.writeInt(config.getHistoryCapacity());
+        out.flush();
+    }
+
+} // IslandCoordinator
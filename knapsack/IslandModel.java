@@ -0,0 +1,233 @@
+package knapsack;
+
+/**
+ * @filename:       IslandModel.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Island model genetic algorithm: several populations
+ *                  (islands) of the same problem evolve on their own
+ *                  threads, each from its own random seed split from the
+ *                  run's seed, and every migration_interval generations
+ *                  each island sends copies of its fittest genes to
+ *                  another (next island around a ring, or a random one),
+ *                  which replace its least fit genes; islands never share
+ *                  a population, so no locks are needed: migrants are left
+ *                  in a per-island AtomicReferenceArray slot, and islands
+ *                  meet at a Phaser before and after collecting them, so
+ *                  every epoch exchanges the same genes for the same seed
+ *                  whatever the thread timing
+ * @usage:          Used by GeneticEngine.solve() when config.getIslands() > 1
+ */
+
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+class IslandModel {
+
+    private final GeneticConfig config;
+    private final GenerationReporter reporter;
+    private final long seed;
+    private final int number_of_islands;
+    private final GeneticRun[] islands;
+    private final SplittableRandom[] topology_generators;
+    private final AtomicReferenceArray<Migration> outboxes;
+    private final Phaser phaser;
+    private final Throwable[] failures;
+
+
+
+    /**
+     * Constructor; sets up every island, each with its own seed
+     * @param KnapsackInstance - problem to solve
+     * @param GeneticConfig - algorithm parameters
+     * @param GenerationReporter - output of island summaries
+     * @param ForkJoinPool - evaluation worker pool, or null for none
+     */
+    IslandModel(KnapsackInstance instance, GeneticConfig config, GenerationReporter reporter,
+            ForkJoinPool pool) {
+        this.config = config;
+        this.reporter = reporter;
+        this.seed = config.hasSeed() ? config.getSeed() : new SplittableRandom().nextLong();
+        this.number_of_islands = config.getIslands();
+        this.islands = new GeneticRun[number_of_islands];
+        this.topology_generators = new SplittableRandom[number_of_islands];
+        this.outboxes = new AtomicReferenceArray<Migration>(number_of_islands);
+        this.phaser = new Phaser(number_of_islands);
+        this.failures = new Throwable[number_of_islands];
+
+        // Islands report nothing per generation; they are summarized at the end
+        SplittableRandom master = new SplittableRandom(seed);
+        for(int i = 0; i < number_of_islands; i++) {
+            this.islands[i] = new GeneticRun(instance, config, GenerationReporter.silent(), pool,
+                master.nextLong());
+            this.topology_generators[i] = master.split();
+        }
+    }
+
+
+    /**
+     * Publishes every island's timers and counters to an engine's metrics,
+     * if stats are on
+     * @param EngineMetrics - engine's metrics
+     */
+    void publishTo(EngineMetrics engine_metrics) {
+        for(int i = 0; i < number_of_islands; i++) {
+            islands[i].publishTo(engine_metrics);
+        }
+    }
+
+
+    /**
+     * Evolves all islands to completion, one thread per island
+     * @return KnapsackResult - best solution of all islands, and history
+     */
+    KnapsackResult solve() {
+        reporter.seed(seed);
+
+        // Start islands
+        Thread[] threads = new Thread[number_of_islands];
+        for(int i = 0; i < number_of_islands; i++) {
+            final int island = i;
+            threads[i] = new Thread(() -> runIsland(island), "knapsack-island-" + (i + 1));
+            threads[i].start();
+        }
+
+        // Wait for islands to finish
+        for(int i = 0; i < number_of_islands; i++) {
+            try {
+                threads[i].join();
+            }
+            catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted waiting for islands", e);
+            }
+        }
+        for(int i = 0; i < number_of_islands; i++) {
+            if(failures[i] instanceof RuntimeException) {
+                throw (RuntimeException) failures[i];
+            }
+            if(failures[i] instanceof Error) {
+                throw (Error) failures[i];
+            }
+        }
+
+        // Summarize islands
+        KnapsackResult[] results = new KnapsackResult[number_of_islands];
+        for(int i = 0; i < number_of_islands; i++) {
+            results[i] = islands[i].result();
+            reporter.island(i, results[i]);
+        }
+        return combine(results, seed);
+    }
+
+
+    /**
+     * Evolves one island, migrating genes every migration_interval
+     * generations until the island stops
+     * @param int - island number
+     */
+    private void runIsland(int island) {
+        GeneticRun run = islands[island];
+        int interval = config.getMigrationInterval();
+        int epoch = 0;
+        boolean running = true;
+        try {
+            run.buildKnapsackProblem();
+            while(running) {
+
+                // Evolve for one epoch
+                for(int g = 0; g < interval && running; g++) {
+                    running = run.makeNextGeneration();
+                }
+                if(!running || config.getMigrationSize() == 0) {
+                    continue;
+                }
+                epoch = epoch + 1;
+
+                // Send fittest genes, then wait for all running islands to send theirs
+                int target = target(island, number_of_islands, config.getMigrationTopology(),
+                    topology_generators[island]);
+                outboxes.set(island, new Migration(epoch, target, run.emigrants(config.getMigrationSize())));
+                phaser.arriveAndAwaitAdvance();
+
+                // Take in genes sent to this island this epoch, in island order
+                for(int source = 0; source < number_of_islands; source++) {
+                    Migration migration = outboxes.get(source);
+                    if(migration != null && migration.epoch == epoch && migration.target == island) {
+                        run.immigrate(migration.genes);
+                    }
+                }
+
+                // Wait for all islands to take in genes before outboxes are reused
+                phaser.arriveAndAwaitAdvance();
+            }
+        }
+        catch(Throwable e) {
+            failures[island] = e;
+        }
+        finally {
+            phaser.arriveAndDeregister();
+        }
+    }
+
+
+    /**
+     * Island that an island sends migrants to
+     * @param int - sending island
+     * @param int - number of islands
+     * @param String - migration topology, "ring" or "random"
+     * @param SplittableRandom - sending island's topology generator
+     * @return int - receiving island
+     */
+    static int target(int island, int number_of_islands, String topology,
+            SplittableRandom generator) {
+        if("random".equals(topology)) {
+            int other = generator.nextInt(number_of_islands - 1);
+            return other >= island ? other + 1 : other;
+        }
+        return (island + 1) % number_of_islands;
+    }
+
+
+    /**
+     * Combines island results: best solution of all islands, and per
+     * generation (or history point) the mean of island mean fitness and
+     * the best of island best fitness, over islands still running then
+     * @param KnapsackResult[] - result of each island
+     * @param long - random seed of whole run
+     * @return KnapsackResult - combined result
+     */
+    static KnapsackResult combine(KnapsackResult[] results, long seed) {
+        KnapsackResult best = results[0];
+        FitnessHistory[] histories = new FitnessHistory[results.length];
+        for(int i = 0; i < results.length; i++) {
+            if(results[i].getBestFitness() > best.getBestFitness()) {
+                best = results[i];
+            }
+            histories[i] = results[i].getHistory();
+        }
+        return new KnapsackResult(best.getBestSolution(), best.getBestFitness(),
+            best.getBestGeneration(), seed, FitnessHistory.combine(histories));
+    }
+
+
+    /**
+     * Genes sent by one island to another in one epoch
+     */
+    private static final class Migration {
+
+        private final int epoch;
+        private final int target;
+        private final Chromosome[] genes;
+
+        private Migration(int epoch, int target, Chromosome[] genes) {
+            this.epoch = epoch;
+            this.target = target;
+            this.genes = genes;
+        }
+    }
+
+} // IslandModel
@@ -0,0 +1,165 @@
+package knapsack;
+
+/**
+ * @filename:       IslandProtocol.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Wire format shared by IslandCoordinator and IslandWorker
+ *                  (big-endian, over DataInput/DataOutputStream):
+ *                    worker hello:       int MAGIC, int VERSION
+ *                    coordinator setup:  int island, long seed, problem
+ *                                        (int items, double capacity, then
+ *                                        weight and value of each item),
+ *                                        config (int population_size, int
+ *                                        maximum_generations, double
+ *                                        crossover and mutation
+ *                                        probabilities, UTF selection, int
+ *                                        tournament_size, int
+ *                                        migration_interval, int
+ *                                        migration_size, int
+ *                                        fitness_cache_size, double
+ *                                        seed_fraction, boolean repair,
+ *                                        int stagnation_window, double
+ *                                        stagnation_epsilon, boolean
+ *                                        stagnation_on_best, boolean
+ *                                        has target, double target
+ *                                        fitness, long evaluation_budget,
+ *                                        long time_limit, boolean
+ *                                        stop_at_upper_bound, int
+ *                                        history_capacity)
+ *                    each epoch, worker: byte MIGRATE, int generations,
+ *                                        double best fitness, double mean
+ *                                        fitness, int count, count genes;
+ *                                        or byte DONE, island result (best
+ *                                        gene, its double total weight and
+ *                                        value, double best fitness, int
+ *                                        best generation, long seed, then
+ *                                        its FitnessHistory)
+ *                    reply to MIGRATE:   int batches, then per batch int
+ *                                        count and count genes
+ *                  a gene is sent as its packed words, (items + 63) / 64
+ *                  longs, exactly as Chromosome stores it
+ */
+
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+final class IslandProtocol {
+
+    static final int MAGIC = 0x4B4E4953;
+    static final int VERSION = 4;
+    static final byte MIGRATE = 1;
+    static final byte DONE = 2;
+    static final int BUFFER_SIZE = 1 << 16;
+
+
+
+    /**
+     * Not instantiable
+     */
+    private IslandProtocol() {
+    }
+
+
+    /**
+     * Writes a gene as its packed words
+     * @param DataOutputStream - stream to write to
+     * @param Chromosome - gene to write
+     */
+    static void writeGene(DataOutputStream out, Chromosome gene) throws IOException {
+        long[] words = gene.words();
+        for(int i = 0; i < words.length; i++) {
+            out.writeLong(words[i]);
+        }
+    }
+
+
+    /**
+     * Reads a gene from its packed words
+     * @param DataInputStream - stream to read from
+     * @param int - number of chromosomes (items) in gene
+     * @return Chromosome - gene read, totals not yet evaluated
+     */
+    static Chromosome readGene(DataInputStream in, int length) throws IOException {
+        Chromosome gene = new Chromosome(length);
+        long[] words = gene.words();
+        for(int i = 0; i < words.length; i++) {
+            words[i] = in.readLong();
+        }
+        if((length & 63) != 0 && (words[words.length - 1] >>> (length & 63)) != 0) {
+            throw new IOException("Gene has chromosomes past item " + length);
+        }
+        return gene;
+    }
+
+
+    /**
+     * Writes a number of genes, preceded by their count
+     * @param DataOutputStream - stream to write to
+     * @param Chromosome[] - genes to write
+     */
+    static void writeGenes(DataOutputStream out, Chromosome[] genes) throws IOException {
+        out.writeInt(genes.length);
+        for(int i = 0; i < genes.length; i++) {
+            writeGene(out, genes[i]);
+        }
+    }
+
+
+    /**
+     * Reads a number of genes, preceded by their count
+     * @param DataInputStream - stream to read from
+     * @param int - number of chromosomes (items) in each gene
+     * @return Chromosome[] - genes read
+     */
+    static Chromosome[] readGenes(DataInputStream in, int length) throws IOException {
+        int count = in.readInt();
+        if(count < 0) {
+            throw new IOException("Negative gene count: " + count);
+        }
+        Chromosome[] genes = new Chromosome[count];
+        for(int i = 0; i < count; i++) {
+            genes[i] = readGene(in, length);
+        }
+        return genes;
+    }
+
+
+    /**
+     * Writes an island's result: best gene and its totals, its fitness,
+     * generation and seed, then its fitness history
+     * @param DataOutputStream - stream to write to
+     * @param KnapsackResult - result of island
+     */
+    static void writeResult(DataOutputStream out, KnapsackResult result) throws IOException {
+        Chromosome best_solution = result.getBestSolution();
+        writeGene(out, best_solution);
+        out.writeDouble(best_solution.totalWeight());
+        out.writeDouble(best_solution.totalValue());
+        out.writeDouble(result.getBestFitness());
+        out.writeInt(result.getBestGeneration());
+        out.writeLong(result.getSeed());
+        result.getHistory().write(out);
+    }
+
+
+    /**
+     * Reads an island's result
+     * @param DataInputStream - stream to read from
+     * @param int - number of chromosomes (items) in each gene
+     * @return KnapsackResult - result of island
+     */
+    static KnapsackResult readResult(DataInputStream in, int length) throws IOException {
+        Chromosome best_solution = readGene(in, length);
+        double weight = in.readDouble();
+        best_solution.restoreTotals(weight, in.readDouble());
+        double best_fitness = in.readDouble();
+        int best_generation = in.readInt();
+        long seed = in.readLong();
+        return new KnapsackResult(best_solution, best_fitness, best_generation, seed,
+            FitnessHistory.read(in));
+    }
+
+} // IslandProtocol
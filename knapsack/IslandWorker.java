@@ -0,0 +1,171 @@
+package knapsack;
+
+/**
+ * @filename:       IslandWorker.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    One island of an IslandCoordinator run, in its own
+ *                  process: connects to the coordinator, receives the
+ *                  problem, parameters and its seed, and evolves its
+ *                  population, every migration_interval generations
+ *                  sending its fittest genes and progress and taking in
+ *                  the genes routed to it; sends its result when done;
+ *                  optional --threads argument evaluates fitness on that
+ *                  many worker threads
+ * @usage:          java knapsack/IslandWorker <host> <port> [--threads <n>]
+ */
+
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.concurrent.ForkJoinPool;
+
+public class IslandWorker {
+
+    private final String host;
+    private final int port;
+
+
+
+    /**
+     * Main method
+     */
+    public static void main(String[] args) {
+        if(args.length < 2) {
+            System.err.println("Usage: java knapsack/IslandWorker <host> <port> [--threads <n>]");
+            System.exit(1);
+        }
+        int threads = 1;
+        if(args.length >= 4 && args[2].equals("--threads")) {
+            try {
+                threads = Math.max(1, Integer.parseInt(args[3]));
+            }
+            catch(NumberFormatException e) {
+                System.err.println("Not a number: " + args[3]);
+                System.exit(1);
+            }
+        }
+        try {
+            new IslandWorker(args[0], Integer.parseInt(args[1])).run(threads);
+        }
+        catch(NumberFormatException e) {
+            System.err.println("Not a port number: " + args[1]);
+            System.exit(1);
+        }
+        catch(IOException | IllegalArgumentException e) {
+            System.err.println("Problem with island coordinator: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+
+    /**
+     * Constructor with coordinator's address
+     * @param String - coordinator host
+     * @param int - coordinator port
+     */
+    public IslandWorker(String host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+
+    /**
+     * Evolves the island given by the coordinator until done
+     * @param int - evaluation threads; 1 for none
+     */
+    public void run(int number_of_threads) throws IOException {
+        ForkJoinPool pool = number_of_threads > 1 ? new ForkJoinPool(number_of_threads) : null;
+        try(Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(),
+                IslandProtocol.BUFFER_SIZE));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(),
+                IslandProtocol.BUFFER_SIZE));
+            out.writeInt(IslandProtocol.MAGIC);
+            out.writeInt(IslandProtocol.VERSION);
+            out.flush();
+
+            // Read setup
+            in.readInt();
+            long seed = in.readLong();
+            int number_of_items = in.readInt();
+            if(number_of_items < 1) {
+                throw new IOException("Bad number of items: " + number_of_items);
+            }
+            double capacity = in.readDouble();
+            KnapsackItems items = new KnapsackItems(number_of_items);
+            for(int i = 0; i < number_of_items; i++) {
+                double weight = in.readDouble();
+                items.add(in.readDouble(), weight);
+            }
+            KnapsackInstance instance = new KnapsackInstance(items, capacity);
+            GeneticConfig.Builder builder = new GeneticConfig.Builder()
+                .populationSize(in.readInt())
+                .maximumGenerations(in.readInt())
+                .crossoverProbability(in.readDouble())
+                .mutationProbability(in.readDouble())
+                .selection(in.readUTF())
+                .tournamentSize(in.readInt())
+                .migrationInterval(in.readInt())
+                .migrationSize(in.readInt())
+                .fitnessCacheSize(in.readInt())
+                .seedFraction(in.readDouble())
+                .repair(in.readBoolean())
+                .stagnationWindow(in.readInt())
+                .stagnationEpsilon(in.readDouble())
+                .stagnationOnBest(in.readBoolean());
+            boolean has_target = in.readBoolean();
+            double target_fitness = in.readDouble();
+            if(has_target) {
+                builder.targetFitness(target_fitness);
+            }
+            GeneticConfig config = builder
+                .evaluationBudget(in.readLong())
+                .timeLimit(in.readLong())
+                .stopAtUpperBound(in.readBoolean())
+                .historyCapacity(in.readInt())
+                .build();
+
+            // Evolve, migrating every epoch
+            GeneticRun run = new GeneticRun(instance, config, GenerationReporter.silent(), pool, seed);
+            run.buildKnapsackProblem();
+            boolean running = true;
+            while(running) {
+                for(int g = 0; g < config.getMigrationInterval() && running; g++) {
+                    running = run.makeNextGeneration();
+                }
+                KnapsackResult result = run.result();
+                if(!running) {
+                    out.writeByte(IslandProtocol.DONE);
+                    IslandProtocol.writeResult(out, result);
+                    out.flush();
+                    continue;
+                }
+                out.writeByte(IslandProtocol.MIGRATE);
+                out.writeInt(result.getGenerations());
+                out.writeDouble(result.getBestFitness());
+                out.writeDouble(run.meanFitness());
+                IslandProtocol.writeGenes(out, config.getMigrationSize() > 0
+                    ? run.emigrants(config.getMigrationSize()) : new Chromosome[0]);
+                out.flush();
+
+                // Take in genes routed to this island
+                int batches = in.readInt();
+                for(int b = 0; b < batches; b++) {
+                    run.immigrate(IslandProtocol.readGenes(in, number_of_items));
+                }
+            }
+        }
+        finally {
+            if(pool != null) {
+                pool.shutdown();
+            }
+        }
+    }
+
+} // IslandWorker
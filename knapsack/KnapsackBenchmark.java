@@ -0,0 +1,234 @@
+package knapsack;
+
+/**
+ * @filename:       KnapsackBenchmark.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Micro- and end-to-end benchmarks of the genetic
+ *                  algorithm operators, over generated instances of each
+ *                  requested size and population; each benchmark calls
+ *                  the GeneticRun or Chromosome method it is named after
+ *                  and feeds every result into a checksum, so none can
+ *                  be optimized away; every benchmark is
+ *                  warmed up, then timed for a fixed period, and reports
+ *                  throughput (ns per operation) and allocation rate
+ *                  (bytes per operation, from the JVM's per-thread
+ *                  allocation counter); results are printed one line per
+ *                  benchmark, tab separated, so runs can be diffed
+ * @usage:          java KnapsackBenchmark [--items 100,10000,1000000]
+ *                      [--population 100,1000] [--type uncorrelated]
+ *                      [--seconds 1] [--seed 42]
+ */
+
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+
+public class KnapsackBenchmark {
+
+    private static volatile double sink = 0;
+    private int population_size;
+    private long measure_nanos;
+    private KnapsackInstance instance;
+    private Chromosome[] population;
+    private double[] fitness;
+    private ThreadMXBean thread_bean;
+
+
+
+    /**
+     * Main method
+     */
+    public static void main(String[] args) {
+
+        // Check for command line arguments
+        int[] item_counts = {100, 10000, 1000000};
+        int[] population_sizes = {100, 1000};
+        String type = "uncorrelated";
+        double seconds = 1;
+        long seed = 42;
+        for(int i = 0; i + 1 < args.length; i = i + 2) {
+            if(args[i].equals("--items")) {
+                item_counts = parseList(args[i + 1]);
+            }
+            else if(args[i].equals("--population")) {
+                population_sizes = parseList(args[i + 1]);
+            }
+            else if(args[i].equals("--type")) {
+                type = args[i + 1];
+            }
+            else if(args[i].equals("--seconds")) {
+                seconds = Double.parseDouble(args[i + 1]);
+            }
+            else if(args[i].equals("--seed")) {
+                seed = Long.parseLong(args[i + 1]);
+            }
+        }
+
+        // Run every benchmark for every instance size and population size
+        System.out.println("benchmark\titems\tpopulation\tns/op\tbytes/op");
+        for(int number_of_items : item_counts) {
+            KnapsackInstance instance = InstanceGenerator.generate(type, number_of_items, seed);
+            for(int population_size : population_sizes) {
+                KnapsackBenchmark benchmark = new KnapsackBenchmark(instance, population_size,
+                    (long) (seconds * 1e9));
+                benchmark.runAll();
+            }
+        }
+    }
+
+
+    /**
+     * Default constructor
+     * @param KnapsackInstance - instance to benchmark on
+     * @param int - population size
+     * @param long - time to measure each benchmark for, in nanoseconds
+     */
+    public KnapsackBenchmark(KnapsackInstance instance, int population_size, long measure_nanos) {
+        this.instance = instance;
+        this.population_size = population_size;
+        this.measure_nanos = measure_nanos;
+        this.thread_bean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        SplittableRandom generator = new SplittableRandom(population_size);
+        this.population = new Chromosome[population_size];
+        this.fitness = new double[population_size];
+        for(int i = 0; i < population_size; i++) {
+            population[i] = Chromosome.random(instance.size(), generator);
+            population[i].evaluate(instance.getItems());
+            fitness[i] = population[i].totalWeight() <= instance.getCapacity()
+                ? population[i].totalValue() : 0;
+        }
+    }
+
+
+    /**
+     * Runs every benchmark once, printing a line for each
+     */
+    public void runAll() {
+        final KnapsackItems items = instance.getItems();
+        final int number_of_items = instance.size();
+        final Chromosome child = new Chromosome(number_of_items);
+        final SplittableRandom generator = new SplittableRandom(1);
+        final GeneticConfig config = new GeneticConfig.Builder()
+            .populationSize(population_size)
+            .maximumGenerations(10)
+            .build();
+        final GeneticRun run = new GeneticRun(instance, config, GenerationReporter.silent(), null);
+
+        // Full evaluation of a gene of unknown totals, and its fitness
+        measure("evalGene", () -> {
+            Chromosome gene = population[generator.nextInt(population_size)];
+            child.copyFrom(gene);
+            child.flip(0);
+            return run.evalGene(child);
+        });
+
+        // Selection, per strategy
+        double total_fitness = 0;
+        for(int i = 0; i < population_size; i++) {
+            total_fitness = total_fitness + fitness[i];
+        }
+        for(String name : new String[] {"roulette", "alias", "tournament", "sus", "rank"}) {
+            final Selection selection = Selection.named(name, 2);
+            selection.prepare(fitness, population_size, total_fitness, generator);
+            measure("selectGene." + name, () -> selection.select());
+        }
+
+        // Crossover with incremental totals, and cloning
+        measure("crossoverGenes", () -> {
+            Chromosome head = population[generator.nextInt(population_size)];
+            Chromosome tail = population[generator.nextInt(population_size)];
+            child.crossover(head, tail, generator.nextInt(number_of_items) + 1, items);
+            return child.totalValue();
+        });
+        measure("cloneGene", () -> {
+            child.copyFrom(population[generator.nextInt(population_size)]);
+            return child.totalValue();
+        });
+
+        // Mutation with incremental totals
+        child.copyFrom(population[0]);
+        measure("mutateGene", () -> {
+            child.flip(generator.nextInt(number_of_items), items);
+            return child.totalValue();
+        });
+
+        // Making a whole first generation, as a run does
+        measure("makePopulation", () -> {
+            run.makePopulation();
+            return run.gene(generator.nextInt(population_size)).cardinality();
+        });
+
+        // End to end: ten generations, no stopping criterion in reach
+        final GeneticEngine engine = new GeneticEngine();
+        measure("solve.10generations", () -> engine.solve(instance, config).getBestFitness());
+        engine.close();
+    }
+
+
+    /**
+     * Warms up an operation, then times it for measure_nanos and prints
+     * time and allocation per operation
+     * @param String - benchmark name
+     * @param Operation - operation to benchmark
+     */
+    private void measure(String name, Operation operation) {
+        run(operation, measure_nanos / 2);
+        long thread_id = Thread.currentThread().getId();
+        long allocated_before = thread_bean.getThreadAllocatedBytes(thread_id);
+        long start = System.nanoTime();
+        long operations = run(operation, measure_nanos);
+        long elapsed = System.nanoTime() - start;
+        long allocated = thread_bean.getThreadAllocatedBytes(thread_id) - allocated_before;
+        System.out.printf("%s\t%d\t%d\t%.1f\t%.1f%n", name, instance.size(), population_size,
+            (double) elapsed / operations, (double) allocated / operations);
+    }
+
+
+    /**
+     * Repeats an operation for at least the given time, in batches so the
+     * clock is read rarely
+     * @return long - number of operations run
+     */
+    private static long run(Operation operation, long nanos) {
+        long operations = 0;
+        long batch = 1;
+        double checksum = 0;
+        long end = System.nanoTime() + nanos;
+        while(System.nanoTime() < end) {
+            for(long i = 0; i < batch; i++) {
+                checksum = checksum + operation.run();
+            }
+            operations = operations + batch;
+            if(batch < (1 << 16)) {
+                batch = batch * 2;
+            }
+        }
+        sink = sink + checksum;
+        return operations;
+    }
+
+
+    /**
+     * Parses comma separated list of integers
+     * @return int[] - integers in list
+     */
+    private static int[] parseList(String list) {
+        String[] parts = list.split(",");
+        int[] values = new int[parts.length];
+        for(int i = 0; i < parts.length; i++) {
+            values[i] = Integer.parseInt(parts[i].trim());
+        }
+        return values;
+    }
+
+
+    /**
+     * A benchmarked operation; returns a number so the JIT cannot drop it
+     */
+    private interface Operation {
+        double run();
+    }
+
+} // KnapsackBenchmark
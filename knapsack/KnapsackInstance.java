@@ -0,0 +1,79 @@
+package knapsack;
+
+/**
+ * @filename:       KnapsackInstance.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Definition of a knapsack problem: the items to choose
+ *                  from and the knapsack capacity; an instance is never
+ *                  modified once made, so one instance can be solved any
+ *                  number of times, including concurrently; items'
+ *                  order by value/weight ratio is worked out the first
+ *                  time it is needed and kept
+ */
+
+
+public final class KnapsackInstance {
+
+    private final KnapsackItems items;
+    private final double knapsack_capacity;
+    private volatile RatioIndex ratio_index;
+
+
+
+    /**
+     * Default constructor; items must not be added to afterwards
+     * @param KnapsackItems - items to choose from
+     * @param double - knapsack capacity, at least 0
+     */
+    public KnapsackInstance(KnapsackItems items, double knapsack_capacity) {
+        if(items.size() == 0) {
+            throw new IllegalArgumentException("Knapsack problem has no items");
+        }
+        if(!(knapsack_capacity >= 0)) {
+            throw new IllegalArgumentException("Knapsack capacity must be at least 0: " + knapsack_capacity);
+        }
+        this.items = items;
+        this.knapsack_capacity = knapsack_capacity;
+    }
+
+
+    /**
+     * @return KnapsackItems - items to choose from
+     */
+    public KnapsackItems getItems() {
+        return items;
+    }
+
+
+    /**
+     * @return int - number of items
+     */
+    public int size() {
+        return items.size();
+    }
+
+
+    /**
+     * @return double - knapsack capacity
+     */
+    public double getCapacity() {
+        return knapsack_capacity;
+    }
+
+
+    /**
+     * Items in order of value/weight ratio; if two threads ask at once,
+     * both may sort, but they get equal orders
+     * @return RatioIndex - ratio order of items
+     */
+    RatioIndex ratioIndex() {
+        RatioIndex index = ratio_index;
+        if(index == null) {
+            index = new RatioIndex(items);
+            ratio_index = index;
+        }
+        return index;
+    }
+
+} // KnapsackInstance
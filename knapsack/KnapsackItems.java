@@ -0,0 +1,122 @@
+package knapsack;
+
+/**
+ * @filename:       KnapsackItems.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Structure-of-arrays store for the items of a knapsack
+ *                  problem; item values and weights live in two parallel
+ *                  primitive double arrays that grow as items are added,
+ *                  so fitness evaluation reads them without unboxing
+ */
+
+
+import java.util.Arrays;
+
+public class KnapsackItems {
+
+    private int number_of_items = 0;
+    private double[] value_of_items;
+    private double[] weight_of_items;
+
+
+
+    /**
+     * Default constructor
+     */
+    public KnapsackItems() {
+        this(16);
+    }
+
+
+    /**
+     * Constructor with expected number of items, to avoid regrowing
+     * @param int - initial capacity of value and weight arrays
+     */
+    public KnapsackItems(int initial_capacity) {
+        this.value_of_items = new double[Math.max(initial_capacity, 1)];
+        this.weight_of_items = new double[Math.max(initial_capacity, 1)];
+    }
+
+
+    /**
+     * Makes a store using existing value and weight arrays, without copying
+     * @param double[] - item values
+     * @param double[] - item weights, same length as values
+     * @return KnapsackItems - store of all items in arrays
+     */
+    static KnapsackItems wrap(double[] values, double[] weights) {
+        KnapsackItems items = new KnapsackItems(0);
+        items.value_of_items = values;
+        items.weight_of_items = weights;
+        items.number_of_items = values.length;
+        return items;
+    }
+
+
+    /**
+     * Adds an item to the end of the store
+     * @param double - value of item
+     * @param double - weight of item
+     */
+    public void add(double value, double weight) {
+        if(number_of_items == value_of_items.length) {
+            int new_capacity = Math.max(value_of_items.length * 2, 1);
+            value_of_items = Arrays.copyOf(value_of_items, new_capacity);
+            weight_of_items = Arrays.copyOf(weight_of_items, new_capacity);
+        }
+        value_of_items[number_of_items] = value;
+        weight_of_items[number_of_items] = weight;
+        number_of_items = number_of_items + 1;
+    }
+
+
+    /**
+     * Number of items in store
+     * @return int - number of items
+     */
+    public int size() {
+        return number_of_items;
+    }
+
+
+    /**
+     * Value of a single item
+     * @param int - item position
+     * @return double - value of item
+     */
+    public double value(int position) {
+        return value_of_items[position];
+    }
+
+
+    /**
+     * Weight of a single item
+     * @param int - item position
+     * @return double - weight of item
+     */
+    public double weight(int position) {
+        return weight_of_items[position];
+    }
+
+
+    /**
+     * Gives direct access to backing value array, for evaluation loops;
+     * only the first size() entries are meaningful
+     * @return double[] - item values
+     */
+    double[] values() {
+        return value_of_items;
+    }
+
+
+    /**
+     * Gives direct access to backing weight array, for evaluation loops;
+     * only the first size() entries are meaningful
+     * @return double[] - item weights
+     */
+    double[] weights() {
+        return weight_of_items;
+    }
+
+} // KnapsackItems
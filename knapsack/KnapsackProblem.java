@@ -3,50 +3,41 @@ package knapsack;
 /**
  * @filename:       KnapsackProblem.java
  * @author:         Matthew Mayo
- * @modified:       2014-04-08
+ * @modified:       2026-10-18
  * @description:    Creates a KnapsackProblem object based on user input,
  *                  attempts to solve using a genetic algorithm; outputs 
  *                  algorithm data step-by-step, generates list of optimal
  *                  items for problem, graphs mean fitness by generation; 
  *		    optional command line argument output_filename will 
- *		    redirect all algorithm details output to output_filename
- *		    in current directory, will overwrite output_filename 
- *		    contents if file exists
- * @usage:          java KnapsackProblem <output_filename>
+ *		    redirect all algorithm details output to output_filename;
+ *		    other options are described in the README
+ * @usage:          java KnapsackProblem [options] <output_filename>
  */
 
 
+import java.awt.GraphicsEnvironment;
+import java.io.BufferedOutputStream;
 import java.io.Console;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.PrintStream;
-import java.lang.StringBuilder;
-import java.util.ArrayList;
-import java.util.Random;
+import java.io.UncheckedIOException;
 
 public class KnapsackProblem {
 
-    private boolean verbose = false;
-    private boolean mutation = false;
-    private int crossover_count = 0;
-    private int clone_count = 0;
-    private int number_of_items = 0;
-    private int population_size = 0;
-    private int maximum_generations = 0;
-    private int generation_counter = 1;
-    private double knapsack_capacity = 0;
-    private double prob_crossover = 0;
-    private double prob_mutation = 0;
-    private double total_fitness_of_generation = 0;
-    private ArrayList<Double> value_of_items = new ArrayList<Double>();
-    private ArrayList<Double> weight_of_items = new ArrayList<Double>();
-    private ArrayList<Double> fitness = new ArrayList<Double>();
-    private ArrayList<Double> best_fitness_of_generation = new ArrayList<Double>();
-    private ArrayList<Double> mean_fitness_of_generation = new ArrayList<Double>();
-    private ArrayList<String> population = new ArrayList<String>();
-    private ArrayList<String> breed_population = new ArrayList<String>();
-    private ArrayList<String> best_solution_of_generation = new ArrayList<String>();
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+    private static final String USAGE = "Usage: java knapsack/KnapsackProblem [--input <file>] [--no-graph]"
+        + " [--threads <n>] [--selection <name>] [--tournament-size <k>] [--verbosity <level>] [--verbose]"
+        + " [--dump-every <n>] [--seed <seed>] [--islands <n>] [--migration-interval <k>] [--migrants <m>]"
+        + " [--topology <ring|random>] [--listen <port>] [--checkpoint <file>] [--checkpoint-every <n>]"
+        + " [--resume] [--fitness-cache <entries>] [--engine <ga|dp|bnb|auto>] [--seed-fraction <f>]"
+        + " [--repair] [--stagnation <window>] [--epsilon <e>] [--stagnation-on <mean|best>]"
+        + " [--time-limit <seconds>] [--max-evaluations <n>] [--target <fitness>] [--stop-at-bound]"
+        + " [--stats-every <n>] [--progress <file>] [--progress-format <ndjson|csv>]"
+        + " [--history-points <n>] [--chart <file.png|file.svg>] [<output_filename>]";
+    private KnapsackResult result;
 
 
 
@@ -55,16 +46,208 @@ public class KnapsackProblem {
      */
     public static void main(String[] args) {
 
-        // Check for command line argument output_filename
+        // Check for command line arguments --input, --no-graph, --threads,
+        // --selection, --tournament-size, --verbosity, --verbose,
+        // --dump-every, --seed, --islands, --migration-interval, --migrants,
+        // --topology, --listen, --checkpoint, --checkpoint-every, --resume,
+        // --fitness-cache, --engine, --seed-fraction, --repair, --stagnation,
+        // --epsilon, --stagnation-on, --time-limit, --max-evaluations,
+        // --target, --stop-at-bound, --stats-every, --progress,
+        // --progress-format, --history-points, --chart and output_filename
+        String output_filename = null;
+        Long seed = null;
+        String input_filename = null;
+        String selection_name = "roulette";
+        Verbosity verbosity = Verbosity.GENERATION;
+        boolean show_graph = true;
+        int threads = 1;
+        int tournament_size = 2;
+        int dump_interval = 1;
+        int islands = 1;
+        int migration_interval = 10;
+        int migration_size = 2;
+        String migration_topology = "ring";
+        int listen_port = -1;
+        String checkpoint_filename = null;
+        int checkpoint_interval = 10;
+        boolean resume = false;
+        int fitness_cache_size = 0;
+        String engine_name = "ga";
+        double seed_fraction = 0;
+        boolean repair = false;
+        int stagnation_window = 3;
+        double stagnation_epsilon = 0;
+        boolean stagnation_on_best = false;
+        double time_limit = 0;
+        long evaluation_budget = 0;
+        Double target_fitness = null;
+        boolean stop_at_bound = false;
+        int stats_interval = 0;
+        String progress_filename = null;
+        String progress_format = "ndjson";
+        int history_capacity = FitnessHistory.DEFAULT_CAPACITY;
+        String chart_filename = null;
+        for(int i = 0; i < args.length; i++) {
+            if(args[i].equals("--input") && (i + 1) < args.length) {
+                input_filename = args[i + 1];
+                show_graph = false;
+                i = i + 1;
+            }
+            else if(args[i].equals("--no-graph")) {
+                show_graph = false;
+            }
+            else if(args[i].equals("--threads") && (i + 1) < args.length && isInteger(args[i + 1])) {
+                threads = Math.max(1, Integer.parseInt(args[i + 1]));
+                i = i + 1;
+            }
+            else if(args[i].equals("--selection") && (i + 1) < args.length) {
+                selection_name = args[i + 1];
+                i = i + 1;
+            }
+            else if(args[i].equals("--tournament-size") && (i + 1) < args.length && isInteger(args[i + 1])) {
+                tournament_size = Integer.parseInt(args[i + 1]);
+                i = i + 1;
+            }
+            else if(args[i].equals("--verbosity") && (i + 1) < args.length) {
+                verbosity = Verbosity.named(args[i + 1]);
+                if(verbosity == null) {
+                    System.err.println("Unknown verbosity: " + args[i + 1]);
+                    System.exit(1);
+                }
+                i = i + 1;
+            }
+            else if(args[i].equals("--verbose")) {
+                verbosity = Verbosity.POPULATION;
+            }
+            else if(args[i].equals("--seed") && (i + 1) < args.length && isLong(args[i + 1])) {
+                seed = Long.parseLong(args[i + 1]);
+                i = i + 1;
+            }
+            else if(args[i].equals("--dump-every") && (i + 1) < args.length && isInteger(args[i + 1])) {
+                dump_interval = Integer.parseInt(args[i + 1]);
+                i = i + 1;
+            }
+            else if(args[i].equals("--islands") && (i + 1) < args.length && isInteger(args[i + 1])) {
+                islands = Integer.parseInt(args[i + 1]);
+                i = i + 1;
+            }
+            else if(args[i].equals("--migration-interval") && (i + 1) < args.length && isInteger(args[i + 1])) {
+                migration_interval = Integer.parseInt(args[i + 1]);
+                i = i + 1;
+            }
+            else if(args[i].equals("--migrants") && (i + 1) < args.length && isInteger(args[i + 1])) {
+                migration_size = Integer.parseInt(args[i + 1]);
+                i = i + 1;
+            }
+            else if(args[i].equals("--topology") && (i + 1) < args.length) {
+                migration_topology = args[i + 1];
+                i = i + 1;
+            }
+            else if(args[i].equals("--listen") && (i + 1) < args.length && isInteger(args[i + 1])) {
+                listen_port = Integer.parseInt(args[i + 1]);
+                i = i + 1;
+            }
+            else if(args[i].equals("--checkpoint") && (i + 1) < args.length) {
+                checkpoint_filename = args[i + 1];
+                i = i + 1;
+            }
+            else if(args[i].equals("--checkpoint-every") && (i + 1) < args.length && isInteger(args[i + 1])) {
+                checkpoint_interval = Integer.parseInt(args[i + 1]);
+                i = i + 1;
+            }
+            else if(args[i].equals("--resume")) {
+                resume = true;
+            }
+            else if(args[i].equals("--fitness-cache") && (i + 1) < args.length && isInteger(args[i + 1])) {
+                fitness_cache_size = Integer.parseInt(args[i + 1]);
+                i = i + 1;
+            }
+            else if(args[i].equals("--engine") && (i + 1) < args.length) {
+                engine_name = args[i + 1];
+                i = i + 1;
+            }
+            else if(args[i].equals("--seed-fraction") && (i + 1) < args.length && isDouble(args[i + 1])) {
+                seed_fraction = Double.parseDouble(args[i + 1]);
+                i = i + 1;
+            }
+            else if(args[i].equals("--repair")) {
+                repair = true;
+            }
+            else if(args[i].equals("--stagnation") && (i + 1) < args.length && isInteger(args[i + 1])) {
+                stagnation_window = Integer.parseInt(args[i + 1]);
+                i = i + 1;
+            }
+            else if(args[i].equals("--epsilon") && (i + 1) < args.length && isDouble(args[i + 1])) {
+                stagnation_epsilon = Double.parseDouble(args[i + 1]);
+                i = i + 1;
+            }
+            else if(args[i].equals("--stagnation-on") && (i + 1) < args.length) {
+                if(!args[i + 1].equals("mean") && !args[i + 1].equals("best")) {
+                    System.err.println("Unknown stagnation measure: " + args[i + 1]);
+                    System.exit(1);
+                }
+                stagnation_on_best = args[i + 1].equals("best");
+                i = i + 1;
+            }
+            else if(args[i].equals("--time-limit") && (i + 1) < args.length && isDouble(args[i + 1])) {
+                time_limit = Double.parseDouble(args[i + 1]);
+                i = i + 1;
+            }
+            else if(args[i].equals("--max-evaluations") && (i + 1) < args.length && isLong(args[i + 1])) {
+                evaluation_budget = Long.parseLong(args[i + 1]);
+                i = i + 1;
+            }
+            else if(args[i].equals("--target") && (i + 1) < args.length && isDouble(args[i + 1])) {
+                target_fitness = Double.parseDouble(args[i + 1]);
+                i = i + 1;
+            }
+            else if(args[i].equals("--stop-at-bound")) {
+                stop_at_bound = true;
+            }
+            else if(args[i].equals("--stats-every") && (i + 1) < args.length && isInteger(args[i + 1])) {
+                stats_interval = Integer.parseInt(args[i + 1]);
+                i = i + 1;
+            }
+            else if(args[i].equals("--progress") && (i + 1) < args.length) {
+                progress_filename = args[i + 1];
+                i = i + 1;
+            }
+            else if(args[i].equals("--progress-format") && (i + 1) < args.length) {
+                progress_format = args[i + 1];
+                i = i + 1;
+            }
+            else if(args[i].equals("--history-points") && (i + 1) < args.length && isInteger(args[i + 1])) {
+                history_capacity = Integer.parseInt(args[i + 1]);
+                i = i + 1;
+            }
+            else if(args[i].equals("--chart") && (i + 1) < args.length) {
+                chart_filename = args[i + 1];
+                i = i + 1;
+            }
+            else if(args[i].startsWith("--") || output_filename != null) {
+                System.err.println("Unknown or incomplete option: " + args[i]);
+                System.err.println(USAGE);
+                System.exit(1);
+            }
+            else {
+                output_filename = args[i];
+            }
+        }
+
+        // Without the graph window, charts are drawn off screen
+        if(!show_graph) {
+            System.setProperty("java.awt.headless", "true");
+        }
+
         // If filename present, redirect all System.out to file
-        if(args.length == 1) {
+        if(output_filename != null) {
             try {
-                File file_name = new File(args[0]);
+                File file_name = new File(output_filename);
                 if(file_name.exists()) {
                     file_name.delete();
                 }
                 FileOutputStream fos = new FileOutputStream(file_name, true);
-                PrintStream ps = new PrintStream(fos);
+                PrintStream ps = new PrintStream(new BufferedOutputStream(fos, OUTPUT_BUFFER_SIZE));
                 System.setOut(ps);
             }
             catch(FileNotFoundException e) {
@@ -72,501 +255,195 @@ public class KnapsackProblem {
             }
         }
 
-        // Construct KnapsackProblem instance and pass control
-        KnapsackProblem knap = new KnapsackProblem();
-
-        // Construct graph of mean fitness by generation
-        SimpleGraph graph = new SimpleGraph(knap.mean_fitness_of_generation,
-            "Mean Fitness by Generation");
-
-    }
-
-
-    /**  
-     * Default constructor
-     */
-    public KnapsackProblem() {
-
-        // Get user input
-        this.getInput();
-
-        // Make first generation
-        this.buildKnapsackProblem();
-
-        // Output summary
-        this.showOptimalList();
-
-    }
-
-
-    /**
-     * Controls knapsack problem logic and creates first generation
-     */
-    public void buildKnapsackProblem() {
-
-        // Generate initial random population (first generation)
-        this.makePopulation();
-
-        // Start printing out summary
-        System.out.println("\nInitial Generation:");
-        System.out.println("===================");
-        System.out.println("Population:");
-        for(int i = 0; i < this.population_size; i++) {
-            System.out.println((i + 1) + " - " + this.population.get(i));
-        }
-
-        // Evaluate fitness of initial population members
-        this.evalPopulation();
-
-        // Output fitness summary
-        System.out.println("\nFitness:");
-        for(int i = 0; i < this.population_size; i++) {
-            System.out.println((i + 1) + " - " + this.fitness.get(i));
-        }
-
-        // Find best solution of generation
-        this.best_solution_of_generation.add(this.population.get(this.getBestSolution()));
-
-        // Output best solution of generation
-        System.out.println("\nBest solution of initial generation: " + this.best_solution_of_generation.get(0));
-
-        // Find mean solution of generation
-	this.mean_fitness_of_generation.add(this.getMeanFitness());
-
-	// Output mean solution of generation
-	System.out.println("Mean fitness of initial generation: " + this.mean_fitness_of_generation.get(0));
-
-        // Compute fitness of best solution of generation
-        this.best_fitness_of_generation.add(this.evalGene(this.population.get(this.getBestSolution())));
-
-        // Output best fitness of generation
-        System.out.println("Fitness score of best solution of initial generation: " + this.best_fitness_of_generation.get(0));
-
-        // If maximum_generations > 1, breed further generations
-        if(this.maximum_generations > 1) {
-            makeFurtherGenerations();
+        // Check selection strategy
+        if(Selection.named(selection_name, tournament_size) == null) {
+            System.err.println("Unknown selection strategy: " + selection_name);
+            System.exit(1);
         }
 
-    }
-
-
-    /**
-     * Makes further generations beyond first, if necessary
-     */
-    private void makeFurtherGenerations() {
-
-        // Breeding loops maximum_generation number of times at most
-        for(int i = 1; i < this.maximum_generations; i++) {
-
-	    // Check for stopping criterion
-	    if((this.maximum_generations > 4) && (i > 4)) {
-
-		// Previous 3 generational fitness values
-		double a = this.mean_fitness_of_generation.get(i - 1);
-		double b = this.mean_fitness_of_generation.get(i - 2);
-		double c = this.mean_fitness_of_generation.get(i - 3);
-
-		// If all are 3 equal, stop
-		if(a == b && b == c) {
-		    System.out.println("\nStop criterion met");
-		    maximum_generations = i;
-		    break;
-		}
-	    }
-
-            // Reset some counters
-            this.crossover_count = 0;
-            this.clone_count = 0;
-            this.mutation = false;
-          
-            // Breed population
-            for(int j = 0; j < this.population_size / 2; j++) {
-                this.breedPopulation();
+        // Read problem file if given, otherwise ask on console
+        ProblemFile input = null;
+        if(input_filename != null) {
+            try {
+                input = ProblemFile.read(input_filename);
             }
-   
-            // Clear fitness values of previous generation
-            this.fitness.clear();
-
-            // Evaluate fitness of breed population members
-            this.evalBreedPopulation();
-
-            // Copy breed_population to population
-            for(int k = 0; k < this.population_size; k++) {
-                this.population.set(k, this.breed_population.get(k));
+            catch(IOException e) {
+                System.err.println("Problem with input file: " + e.getMessage());
+                System.exit(1);
             }
+        }
+        else {
+            input = getInput();
+        }
 
-            // Output population
-            System.out.println("\nGeneration " + (i + 1) + ":");
-            if((i + 1) < 10) {
-                System.out.println("=============");
-            }
-            if((i + 1) >= 10) {
-                System.out.println("==============");
+        // Construct KnapsackProblem instance and pass control
+        GenerationReporter reporter = new GenerationReporter(System.out, verbosity, dump_interval);
+        KnapsackProblem knap;
+        try(GeneticEngine engine = new GeneticEngine(threads)) {
+            GeneticConfig.Builder config = input.toConfig()
+                .selection(selection_name)
+                .tournamentSize(tournament_size)
+                .islands(islands)
+                .migrationInterval(migration_interval)
+                .migrationSize(migration_size)
+                .migrationTopology(migration_topology)
+                .checkpointFile(checkpoint_filename)
+                .checkpointInterval(checkpoint_interval)
+                .resume(resume)
+                .fitnessCacheSize(fitness_cache_size)
+                .engine(engine_name)
+                .seedFraction(seed_fraction)
+                .repair(repair)
+                .stagnationWindow(stagnation_window)
+                .stagnationEpsilon(stagnation_epsilon)
+                .stagnationOnBest(stagnation_on_best)
+                .evaluationBudget(evaluation_budget)
+                .timeLimit((long) Math.ceil(time_limit * 1000))
+                .stopAtUpperBound(stop_at_bound)
+                .statsInterval(stats_interval)
+                .progressFile(progress_filename)
+                .progressFormat(progress_format)
+                .historyCapacity(history_capacity);
+            if(seed != null) {
+                config.seed(seed);
             }
-            if((i + 1) >= 100) {
-                System.out.println("===============");
+            if(target_fitness != null) {
+                config.targetFitness(target_fitness);
             }
-            System.out.println("Population:");
-            for(int l = 0; l < this.population_size; l++) {
-                System.out.println((l + 1) + " - " + this.population.get(l));
+            if(listen_port >= 0) {
+                System.err.println("Waiting for " + islands + " island workers on port " + listen_port);
+                knap = new KnapsackProblem(new IslandCoordinator(listen_port), input.toInstance(),
+                    config.build(), reporter);
             }
-
-            // Output fitness summary
-            System.out.println("\nFitness:");
-            for(int m = 0; m < this.population_size; m++) {
-               System.out.println((m + 1) + " - " + this.fitness.get(m));
-            } 
-
-            // Clear breed_population
-            this.breed_population.clear();
-
-            // Find best solution of generation
-            this.best_solution_of_generation.add(this.population.get(this.getBestSolution()));
-
-            // Output best solution of generation
-            System.out.println("\nBest solution of generation " + (i + 1) + ": " + this.best_solution_of_generation.get(i));
-
-            // Find mean solution of generation
-	    this.mean_fitness_of_generation.add(this.getMeanFitness());
-
-	    // Output mean solution of generation
-	    System.out.println("Mean fitness of generation: " + this.mean_fitness_of_generation.get(i));
-
-            // Compute fitness of best solution of generation
-            this.best_fitness_of_generation.add(this.evalGene(this.population.get(this.getBestSolution())));
-
-            // Output best fitness of generation
-            System.out.println("Fitness score of best solution of generation " + (i + 1) + ": " + this.best_fitness_of_generation.get(i));
-
-            // Output crossover/cloning summary
-            System.out.println("Crossover occurred " + this.crossover_count + " times");
-            System.out.println("Cloning occurred " + this.clone_count + " times");
-            if(this.mutation == false) {
-                System.out.println("Mutation did not occur");
-            }
-            if(this.mutation == true) {
-                System.out.println("Mutation did occur");
+            else {
+                knap = new KnapsackProblem(engine, input.toInstance(), config.build(), reporter);
             }
         }
-    }
-
-    private void stopCriterion() {
-	SimpleGraph graph = new SimpleGraph(mean_fitness_of_generation,
-	  "Mean Fitness by Generation");
-
-    }
-
-
-    /**
-     * Output KnapsackProblem summary
-     */
-    private void showOptimalList() {
-
-        // Output optimal list of items
-        System.out.println("\nOptimal list of items to include in knapsack: ");
-
-        double best_fitness = 0;
-        int best_gen = 0;
-
-        // First, find best solution out of generational bests
-        for(int z = 0; z < this.maximum_generations - 1; z++) {
-            if(this.best_fitness_of_generation.get(z) > best_fitness) {
-                best_fitness = this.best_fitness_of_generation.get(z);
-                best_gen = z;
-            }
+        catch(IllegalArgumentException e) {
+            System.err.println("Problem with parameters: " + e.getMessage());
+            System.exit(1);
+            return;
         }
-
-        // Then, go through that's generation's best solution and output items
-        String optimal_list = this.best_solution_of_generation.get(best_gen);
-        for(int y = 0; y < this.number_of_items; y++) {
-            if(optimal_list.substring(y, y + 1).equals("1")) {
-                System.out.print((y + 1) + " ");
-            }
+        catch(IOException e) {
+            System.err.println("Problem with island workers: " + e.getMessage());
+            System.exit(1);
+            return;
         }
-
-    }
-
-
-    /**
-     * Breeds current population to create a new generation's population
-     */
-    private void breedPopulation() {
-
-        // 2 genes for breeding
-        int gene_1;
-        int gene_2;
-
-        // Increase generation_counter
-        generation_counter = generation_counter + 1;
-
-        // If population_size is odd #, use elitism to clone best solution of previous generation
-        if(population_size % 2 == 1) {
-            breed_population.add(best_solution_of_generation.get(generation_counter - 1));
+        catch(UncheckedIOException e) {
+            System.err.println("Problem with checkpoint or progress file: " + e.getCause().getMessage());
+            System.exit(1);
+            return;
         }
+        System.out.flush();
 
-        // Get positions of pair of genes for breeding
-        gene_1 = selectGene();
-        gene_2 = selectGene();
-        
-        // Crossover or cloning
-        crossoverGenes(gene_1, gene_2);
-
-    }
-
-
-    /**
-     * Performs mutation, if necessary
-     */
-    private void mutateGene() {
-       
-        // Decide if mutation is to be used
-        double rand_mutation = Math.random();
-        if(rand_mutation <= prob_mutation) {
-
-            // If so, perform mutation
-            mutation = true;
-            String mut_gene;
-            String new_mut_gene;
-            Random generator = new Random();
-            int mut_point = 0;
-            double which_gene = Math.random() * 100;
-
-	    // Mutate gene
-            if(which_gene <= 50) {
-                mut_gene = breed_population.get(breed_population.size() - 1);
-                mut_point = generator.nextInt(number_of_items);
-                if(mut_gene.substring(mut_point, mut_point + 1).equals("1")) {
-                    new_mut_gene = mut_gene.substring(0, mut_point) + "0" + mut_gene.substring(mut_point);
-                    breed_population.set(breed_population.size() - 1, new_mut_gene);
-                }
-                if(mut_gene.substring(mut_point, mut_point + 1).equals("0")) {
-                    new_mut_gene = mut_gene.substring(0, mut_point) + "1" + mut_gene.substring(mut_point);
-                    breed_population.set(breed_population.size() - 1, new_mut_gene);
-                }
+        // Write chart of mean and best fitness by generation
+        if(chart_filename != null) {
+            FitnessHistory history = knap.result.getHistory();
+            try {
+                SimpleGraph.write(chart_filename, "Fitness by Generation", history.span(),
+                    new double[][] { history.meanFitness(), history.bestFitness() },
+                    new String[] { "Mean fitness", "Best fitness" });
             }
-            if(which_gene > 50) {
-                mut_gene = breed_population.get(breed_population.size() - 2);
-                mut_point = generator.nextInt(number_of_items);
-                if(mut_gene.substring(mut_point, mut_point + 1).equals("1")) {
-                    new_mut_gene = mut_gene.substring(0, mut_point) + "0" + mut_gene.substring(mut_point);
-                    breed_population.set(breed_population.size() - 1, new_mut_gene);
-                }
-                if(mut_gene.substring(mut_point, mut_point + 1).equals("0")) {
-                    new_mut_gene = mut_gene.substring(0, mut_point) + "1" + mut_gene.substring(mut_point);
-                    breed_population.set(breed_population.size() - 2, new_mut_gene);
-                }
-            }           
-        }
-    }
-
-
-    /**
-     * Selects a gene for breeding
-     * @return int - position of gene in population ArrayList to use for breeding
-     */
-    private int selectGene() {
-
-        // Generate random number between 0 and total_fitness_of_generation
-        double rand = Math.random() * total_fitness_of_generation;
-        
-        // Use random number to select gene based on fitness level
-        for(int i = 0; i < population_size; i++) {
-            if(rand <= fitness.get(i)) {
-                return i;
+            catch(IOException | IllegalArgumentException e) {
+                System.err.println("Problem with chart file: " + e.getMessage());
+                System.exit(1);
             }
-            rand = rand - fitness.get(i);
         }
 
-	// Not reachable; default return value
-	return 0;
-    }
-
-
-    /**
-     * Performs either crossover or cloning
-     */
-    private void crossoverGenes(int gene_1, int gene_2) {
-      
-        // Strings to hold new genes
-        String new_gene_1;
-        String new_gene_2;
-
-        // Decide if crossover is to be used
-        double rand_crossover = Math.random();
-        if(rand_crossover <= prob_crossover) {
-            // Perform crossover
-            crossover_count = crossover_count + 1;
-            Random generator = new Random(); 
-            int cross_point = generator.nextInt(number_of_items) + 1;
-
-            // Cross genes at random spot in strings
-            new_gene_1 = population.get(gene_1).substring(0, cross_point) + population.get(gene_2).substring(cross_point);
-            new_gene_2 = population.get(gene_2).substring(0, cross_point) + population.get(gene_1).substring(cross_point);
-
-            // Add new genes to breed_population
-            breed_population.add(new_gene_1);
-            breed_population.add(new_gene_2);
-        }
-        else {
-            // Otherwise, perform cloning
-            clone_count = clone_count + 1;
-            breed_population.add(population.get(gene_1));
-            breed_population.add(population.get(gene_2));
+        // Construct graph of mean fitness by generation
+        if(show_graph && !GraphicsEnvironment.isHeadless() && knap.result.getGenerations() > 1) {
+            FitnessHistory history = knap.result.getHistory();
+            SimpleGraph graph = new SimpleGraph(history.meanFitness(), history.span(),
+                "Mean Fitness by Generation");
         }
 
-        // Check if mutation is to be performed
-        mutateGene();
     }
 
 
-    /**
-     * Gets best solution in population
-     * @return int - position of best solution in population
+    /**  
+     * Default constructor; asks for problem on console, solves it with
+     * default roulette selection on the calling thread
      */
-    private int getBestSolution() {
-        int best_position = 0;
-        double this_fitness = 0;
-        double best_fitness = 0;
-        for(int i = 0; i < population_size; i++) {
-            this_fitness = evalGene(population.get(i));
-            if(this_fitness > best_fitness) {
-                best_fitness = this_fitness;
-                best_position = i;
-            }
-        }
-        return best_position;
+    public KnapsackProblem() {
+        this(getInput(), new GenerationReporter(System.out, Verbosity.GENERATION, 1));
     }
 
 
-    /**
-     * Gets mean fitness of generation
+    /**  
+     * Constructor solving a problem entered on console or read from file
+     * with default roulette selection on the calling thread
+     * @param ProblemFile - problem and algorithm parameters
+     * @param GenerationReporter - output of algorithm details
      */
-    private double getMeanFitness() {
-        double total_fitness = 0;
-   	double mean_fitness = 0;
-        for(int i = 0; i < population_size; i++) {
-	    total_fitness = total_fitness + fitness.get(i);
-        }
-	mean_fitness = total_fitness / population_size;
-	return mean_fitness;
+    private KnapsackProblem(ProblemFile input, GenerationReporter reporter) {
+        this(new GeneticEngine(), input.toInstance(), input.toConfig().build(), reporter);
     }
 
 
-    /**
-     * Evaluates entire population's fitness, by filling fitness ArrayList
-     * with fitness value of each corresponding population member gene
+    /**  
+     * Constructor solving a problem with an engine and outputting optimal
+     * list of items
+     * @param GeneticEngine - engine to solve with
+     * @param KnapsackInstance - problem to solve
+     * @param GeneticConfig - algorithm parameters
+     * @param GenerationReporter - output of algorithm details
      */
-    private void evalPopulation() {       
-        total_fitness_of_generation = 0;
-        for(int i = 0; i < population_size; i++) {
-            double temp_fitness = evalGene(population.get(i));
-            fitness.add(temp_fitness);
-            total_fitness_of_generation = total_fitness_of_generation + temp_fitness;
-        }
-    }
+    public KnapsackProblem(GeneticEngine engine, KnapsackInstance instance, GeneticConfig config,
+            GenerationReporter reporter) {
 
+        // Solve, then output summary
+        this.result = engine.solve(instance, config, reporter);
+        reporter.optimalList(this.result.getBestSolution(), this.result.getBestFitness());
 
-    /**
-     * Evaluates entire breed_population's fitness, by filling breed_fitness ArrayList
-     * with fitness value of each corresponding breed_population member gene
-     */
-    private void evalBreedPopulation() {
-        total_fitness_of_generation = 0;
-        for(int i = 0; i < population_size; i++) {
-            double temp_fitness = evalGene(breed_population.get(i));
-            fitness.add(temp_fitness);
-            total_fitness_of_generation = total_fitness_of_generation + temp_fitness;
-        }
-    }
-
-
-    /**
-     * Evaluates a single gene's fitness, by calculating the total_weight
-     * of items selected by the gene
-     * @return double - gene's total fitness value
-     */
-    private double evalGene(String gene) {
-        double total_weight = 0;
-        double total_value = 0;
-        double fitness_value = 0;
-        double difference = 0;
-        char c = '0';
-
-        // Get total_weight associated with items selected by this gene
-        for(int j = 0; j < number_of_items; j ++) {
-            c = gene.charAt(j);
-            // If chromosome is a '1', add corresponding item position's
-            // weight to total weight
-            if(c == '1') {
-                total_weight = total_weight + weight_of_items.get(j);
-                total_value = total_value + value_of_items.get(j);
-            }
-        }
-        // Check if gene's total weight is less than knapsack capacity
-        difference = knapsack_capacity - total_weight;
-        if(difference >= 0) {
-            // This is acceptable; calculate a fitness_value
-            // Otherwise, fitness_value remains 0 (default), since knapsack
-            // cannot hold all items selected by gene
-            // Fitness value is simply total value of acceptable permutation,
-            // and for unacceptable permutation is set to '0'
-            fitness_value = total_value;
-        }
-        
-        // Return fitness value
-        return fitness_value;
     }
 
 
     /**  
-     * Makes a population by filling population ArrayList with strings of
-     * length number_of_items, each element a gene of randomly generated
-     * chromosomes (1s and 0s)
+     * Constructor solving a problem with island worker processes and
+     * outputting optimal list of items
+     * @param IslandCoordinator - coordinator of workers
+     * @param KnapsackInstance - problem to solve
+     * @param GeneticConfig - algorithm parameters
+     * @param GenerationReporter - output of algorithm details
      */
-    private void makePopulation() {
-        for(int i = 0; i < population_size; i++) {
-            // Calls makeGene() once for each element position
-            population.add(makeGene());      
+    public KnapsackProblem(IslandCoordinator coordinator, KnapsackInstance instance,
+            GeneticConfig config, GenerationReporter reporter) throws IOException {
+
+        // Solve, then output summary
+        try {
+            this.result = coordinator.solve(instance, config, reporter);
         }
+        finally {
+            reporter.flush();
+        }
+        reporter.optimalList(this.result.getBestSolution(), this.result.getBestFitness());
+
     }
 
 
-    /**  
-     * Generates a single gene, a random String of 1s and 0s
-     * @return String - a randomly generated gene
+    /**
+     * @return KnapsackResult - best solution and history of solve
      */
-    private String makeGene() {
-
-        // Stringbuilder builds gene, one chromosome (1 or 0) at a time
-        StringBuilder gene = new StringBuilder(number_of_items);
-
-        // Each chromosome
-        char c;
-
-        // Loop creating gene
-        for(int i = 0; i < number_of_items; i++) {
-            c = '0';
-            double rnd = Math.random(); 
-            // If random number is greater than 0.5, chromosome is '1'
-            // If random number is less than 0.5, chromosome is '0'
-            if(rnd > 0.5) {
-                c = '1';
-            }
-            // Append chromosome to gene
-            gene.append(c);
-        }
-        // Stringbuilder object to string; return
-        return gene.toString();
+    public KnapsackResult getResult() {
+        return result;
     }
 
 
     /**  
      * Collects user input to be used as parameters for knapsack problem
+     * @return ProblemFile - problem entered on console
      */
-    private void getInput() {
+    private static ProblemFile getInput() {
 
         // Hold user input, line by line
         String input;
+        int number_of_items = 0;
+        int population_size = 0;
+        int maximum_generations = 0;
+        double knapsack_capacity = 0;
+        double prob_crossover = 0;
+        double prob_mutation = 0;
+        KnapsackItems items;
 
         // Initialize console for user input
         Console c = System.console();
@@ -586,10 +463,12 @@ public class KnapsackProblem {
         }
 
         // Value and weight of each item
+        items = new KnapsackItems(number_of_items);
         for(int i = 0; i < number_of_items; i++) {
+            double value = 0;
             input = c.readLine("Enter the value of item " + (i + 1) + ": ");
             if (isDouble(input)) { 
-                value_of_items.add(Double.parseDouble(input));
+                value = Double.parseDouble(input);
             }
             else {
                 System.out.println("Not a number. Please try again.");
@@ -598,7 +477,7 @@ public class KnapsackProblem {
 
             input = c.readLine("Enter the weight of item " + (i + 1) + ": ");
             if (isDouble(input)) {
-                weight_of_items.add(Double.parseDouble(input));
+                items.add(value, Double.parseDouble(input));
             }
             else {
                 System.out.println("Not a number. Please try again.");
@@ -656,6 +535,8 @@ public class KnapsackProblem {
             System.exit(1);
         }
 
+        return new ProblemFile(items, knapsack_capacity, population_size,
+            maximum_generations, prob_crossover, prob_mutation);
     }
 
 
@@ -675,6 +556,22 @@ public class KnapsackProblem {
     }
 
 
+    /**  
+     * Determines if input string can be converted to long
+     * @param String - string to be checked
+     * @return boolean - whether or not string can be converted
+     */
+    public static boolean isLong(String str) {
+        try {
+            Long.parseLong(str);
+        }
+        catch(NumberFormatException e) {
+            return false;
+        }
+        return true;
+    }
+
+
     /**  
      * Determines if input string can be converted to double
      * @param String - string to be checked
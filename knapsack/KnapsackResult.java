@@ -0,0 +1,169 @@
+package knapsack;
+
+/**
+ * @filename:       KnapsackResult.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Outcome of solving a knapsack problem: best solution
+ *                  found, its fitness, weight and generation, number of
+ *                  generations bred, and mean and best fitness by
+ *                  generation, as a FitnessHistory (one point per
+ *                  generation, or per span of generations for long runs);
+ *                  immutable
+ */
+
+
+public final class KnapsackResult {
+
+    private final int best_generation;
+    private final int generations;
+    private final long seed;
+    private final double best_fitness;
+    private final Chromosome best_solution;
+    private final FitnessHistory history;
+
+
+
+    /**
+     * Default constructor; takes ownership of solution and history
+     */
+    public KnapsackResult(Chromosome best_solution, double best_fitness, int best_generation,
+            long seed, FitnessHistory history) {
+        this.best_solution = best_solution;
+        this.best_fitness = best_fitness;
+        this.best_generation = best_generation;
+        this.seed = seed;
+        this.generations = history.generations();
+        this.history = history;
+    }
+
+
+    /**
+     * Constructor with history of every generation; takes ownership of
+     * solution
+     */
+    public KnapsackResult(Chromosome best_solution, double best_fitness, int best_generation,
+            long seed, int generations, double[] mean_fitness_of_generation,
+            double[] best_fitness_of_generation) {
+        this(best_solution, best_fitness, best_generation, seed,
+            historyOf(generations, mean_fitness_of_generation, best_fitness_of_generation));
+    }
+
+
+    /**
+     * History holding every generation, filled before a result takes it
+     * @param int - number of generations
+     * @param double[] - mean fitness by generation
+     * @param double[] - best fitness by generation
+     * @return FitnessHistory - one point per generation
+     */
+    private static FitnessHistory historyOf(int generations, double[] mean_fitness_of_generation,
+            double[] best_fitness_of_generation) {
+        FitnessHistory history = new FitnessHistory(Math.max(2, generations));
+        for(int g = 0; g < generations; g++) {
+            history.add(mean_fitness_of_generation[g], best_fitness_of_generation[g]);
+        }
+        return history;
+    }
+
+
+    /**
+     * Result of an exact solver: one "generation", the optimal solution
+     * @param Chromosome - optimal solution, with totals evaluated
+     * @return KnapsackResult - result holding solution
+     */
+    static KnapsackResult exact(Chromosome solution) {
+        return new KnapsackResult(solution, solution.totalValue(), 1, 0,
+            FitnessHistory.of(solution.totalValue(), solution.totalValue()));
+    }
+
+
+    /**
+     * @return Chromosome - copy of best solution found
+     */
+    public Chromosome getBestSolution() {
+        return best_solution.copy();
+    }
+
+
+    /**
+     * @return double - fitness (total value) of best solution
+     */
+    public double getBestFitness() {
+        return best_fitness;
+    }
+
+
+    /**
+     * @return double - total weight of best solution
+     */
+    public double getBestWeight() {
+        return best_solution.totalWeight();
+    }
+
+
+    /**
+     * @return int - generation best solution was found in, 1 for initial
+     */
+    public int getBestGeneration() {
+        return best_generation;
+    }
+
+
+    /**
+     * @return long - random seed of run; solving again with it repeats the run
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+
+    /**
+     * @return int - number of generations bred
+     */
+    public int getGenerations() {
+        return generations;
+    }
+
+
+    /**
+     * Positions of items in best solution, numbered from 0
+     * @return int[] - selected item positions, ascending
+     */
+    public int[] getSelectedItems() {
+        int[] selected = new int[best_solution.cardinality()];
+        int count = 0;
+        for(int y = best_solution.nextSetBit(0); y >= 0; y = best_solution.nextSetBit(y + 1)) {
+            selected[count] = y;
+            count = count + 1;
+        }
+        return selected;
+    }
+
+
+    /**
+     * @return double[] - mean fitness by history point (by generation
+     *                    unless getHistory().span() > 1)
+     */
+    public double[] getMeanFitnessHistory() {
+        return history.meanFitness();
+    }
+
+
+    /**
+     * @return double[] - best fitness by history point (by generation
+     *                    unless getHistory().span() > 1)
+     */
+    public double[] getBestFitnessHistory() {
+        return history.bestFitness();
+    }
+
+
+    /**
+     * @return FitnessHistory - copy of bounded fitness history
+     */
+    public FitnessHistory getHistory() {
+        return history.copy();
+    }
+
+} // KnapsackResult
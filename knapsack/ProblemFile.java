@@ -0,0 +1,279 @@
+package knapsack;
+
+/**
+ * @filename:       ProblemFile.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Reads a knapsack problem and its genetic algorithm
+ *                  parameters from a text file or stdin, for running
+ *                  without a console; the format is one entry per line:
+ *                  key=value parameter lines (capacity, population_size,
+ *                  maximum_generations, crossover_probability,
+ *                  mutation_probability, and optionally items, the number
+ *                  of items to expect) and value,weight item lines, in
+ *                  the order items are numbered; blank lines and lines
+ *                  starting with # are ignored; items are streamed line
+ *                  by line straight into a KnapsackItems store, so the
+ *                  file is never held in memory; files in the binary
+ *                  format of BinaryProblemFile are recognized and read
+ *                  through it instead; a Reader that is already a
+ *                  BufferedReader is read through its own buffer, so
+ *                  callers reading many small problems can size it
+ * @usage:          ProblemFile problem = ProblemFile.read(reader);
+ */
+
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+public class ProblemFile {
+
+    private static final int READ_BUFFER_SIZE = 1 << 20;
+    private int population_size = 0;
+    private int maximum_generations = 0;
+    private double knapsack_capacity = Double.NaN;
+    private double prob_crossover = 0;
+    private double prob_mutation = 0;
+    private KnapsackItems items;
+
+
+
+    /**
+     * Default constructor, for a problem about to be read
+     */
+    private ProblemFile() {
+    }
+
+
+    /**
+     * Constructor for a problem read in another format
+     */
+    ProblemFile(KnapsackItems items, double knapsack_capacity, int population_size,
+            int maximum_generations, double prob_crossover, double prob_mutation) {
+        this.items = items;
+        this.knapsack_capacity = knapsack_capacity;
+        this.population_size = population_size;
+        this.maximum_generations = maximum_generations;
+        this.prob_crossover = prob_crossover;
+        this.prob_mutation = prob_mutation;
+    }
+
+
+    /**
+     * Opens and reads a problem file, text or binary; "-" reads text from stdin
+     * @param String - file name, or "-"
+     * @return ProblemFile - problem read
+     */
+    public static ProblemFile read(String file_name) throws IOException {
+        if(!file_name.equals("-")) {
+            Path path = Paths.get(file_name);
+            if(BinaryProblemFile.isBinary(path)) {
+                return BinaryProblemFile.read(path);
+            }
+        }
+        InputStream in = file_name.equals("-") ? System.in : new FileInputStream(file_name);
+        try {
+            return read(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+        finally {
+            if(in != System.in) {
+                in.close();
+            }
+        }
+    }
+
+
+    /**
+     * Reads a problem from any character stream; wrapped in a large read
+     * buffer unless already a BufferedReader
+     * @param Reader - problem text
+     * @return ProblemFile - problem read
+     */
+    public static ProblemFile read(Reader reader) throws IOException {
+        ProblemFile problem = new ProblemFile();
+        BufferedReader in = reader instanceof BufferedReader ? (BufferedReader) reader
+            : new BufferedReader(reader, READ_BUFFER_SIZE);
+        int expected_items = -1;
+        int line_number = 0;
+        String line;
+        while((line = in.readLine()) != null) {
+            line_number = line_number + 1;
+            line = line.trim();
+            if(line.isEmpty() || line.charAt(0) == '#') {
+                continue;
+            }
+
+            // Parameter line
+            int equals = line.indexOf('=');
+            if(equals >= 0) {
+                String key = line.substring(0, equals).trim();
+                String value = line.substring(equals + 1).trim();
+                try {
+                    if(key.equals("capacity")) {
+                        problem.knapsack_capacity = Double.parseDouble(value);
+                    }
+                    else if(key.equals("population_size")) {
+                        problem.population_size = Integer.parseInt(value);
+                    }
+                    else if(key.equals("maximum_generations")) {
+                        problem.maximum_generations = Integer.parseInt(value);
+                    }
+                    else if(key.equals("crossover_probability")) {
+                        problem.prob_crossover = Double.parseDouble(value);
+                    }
+                    else if(key.equals("mutation_probability")) {
+                        problem.prob_mutation = Double.parseDouble(value);
+                    }
+                    else if(key.equals("items")) {
+                        expected_items = Integer.parseInt(value);
+                        if(problem.items == null) {
+                            problem.items = new KnapsackItems(expected_items);
+                        }
+                    }
+                    else {
+                        throw new IOException("Line " + line_number + ": unknown parameter " + key);
+                    }
+                }
+                catch(NumberFormatException e) {
+                    throw new IOException("Line " + line_number + ": not a number: " + value);
+                }
+                continue;
+            }
+
+            // Item line: value and weight separated by comma or whitespace
+            int split = line.indexOf(',');
+            int resume = split + 1;
+            if(split < 0) {
+                split = indexOfWhitespace(line);
+                resume = split;
+            }
+            if(split < 0) {
+                throw new IOException("Line " + line_number + ": expected value,weight");
+            }
+            if(problem.items == null) {
+                problem.items = new KnapsackItems();
+            }
+            try {
+                problem.items.add(Double.parseDouble(line.substring(0, split).trim()),
+                    Double.parseDouble(line.substring(resume).trim()));
+            }
+            catch(NumberFormatException e) {
+                throw new IOException("Line " + line_number + ": not a number: " + line);
+            }
+        }
+
+        // Check problem is complete
+        if(problem.items == null || problem.items.size() == 0) {
+            throw new IOException("No items");
+        }
+        if(expected_items >= 0 && expected_items != problem.items.size()) {
+            throw new IOException("Expected " + expected_items + " items, read " + problem.items.size());
+        }
+        if(Double.isNaN(problem.knapsack_capacity)) {
+            throw new IOException("Missing capacity");
+        }
+        if(problem.knapsack_capacity < 0) {
+            throw new IOException("Negative capacity: " + problem.knapsack_capacity);
+        }
+        if(problem.population_size < 1) {
+            throw new IOException("Missing or invalid population_size");
+        }
+        if(problem.maximum_generations < 1) {
+            throw new IOException("Missing or invalid maximum_generations");
+        }
+        return problem;
+    }
+
+
+    /**
+     * Position of first space or tab in line
+     * @return int - position, or -1 if none
+     */
+    private static int indexOfWhitespace(String line) {
+        for(int i = 0; i < line.length(); i++) {
+            if(line.charAt(i) == ' ' || line.charAt(i) == '\t') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+
+    /**
+     * Problem definition part of file
+     * @return KnapsackInstance - items and capacity
+     */
+    public KnapsackInstance toInstance() {
+        return new KnapsackInstance(items, knapsack_capacity);
+    }
+
+
+    /**
+     * Algorithm parameters part of file, as a builder so that other
+     * parameters can be added before building
+     * @return GeneticConfig.Builder - builder holding file's parameters
+     */
+    public GeneticConfig.Builder toConfig() {
+        return new GeneticConfig.Builder()
+            .populationSize(population_size)
+            .maximumGenerations(maximum_generations)
+            .crossoverProbability(prob_crossover)
+            .mutationProbability(prob_mutation);
+    }
+
+
+    /**
+     * @return KnapsackItems - items of problem
+     */
+    public KnapsackItems getItems() {
+        return items;
+    }
+
+
+    /**
+     * @return double - knapsack capacity
+     */
+    public double getCapacity() {
+        return knapsack_capacity;
+    }
+
+
+    /**
+     * @return int - population size
+     */
+    public int getPopulationSize() {
+        return population_size;
+    }
+
+
+    /**
+     * @return int - maximum number of generations
+     */
+    public int getMaximumGenerations() {
+        return maximum_generations;
+    }
+
+
+    /**
+     * @return double - crossover probability
+     */
+    public double getCrossoverProbability() {
+        return prob_crossover;
+    }
+
+
+    /**
+     * @return double - mutation probability
+     */
+    public double getMutationProbability() {
+        return prob_mutation;
+    }
+
+} // ProblemFile
@@ -0,0 +1,283 @@
+package knapsack;
+
+/**
+ * @filename:       ProgressSink.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Streams one compact record per generation of a
+ *                  GeneticRun to a file or named pipe as the run goes, for
+ *                  live monitoring: generation, best, mean and minimum
+ *                  fitness, diversity (mean Hamming distance of genes from
+ *                  the best gene, as a fraction of items), number of
+ *                  feasible genes, nanoseconds taken by the generation and
+ *                  milliseconds since the run started; written as NDJSON
+ *                  (one JSON object per line) or CSV (with a header line);
+ *                  records are buffered and flushed in batches, every
+ *                  FLUSH_RECORDS records, and by a shared daemon thread
+ *                  every FLUSH_NANOS if records are waiting, so slow
+ *                  generations are still seen within FLUSH_NANOS; nothing
+ *                  is kept once written; a resumed run first cuts the file
+ *                  back to the records up to its checkpoint's generation
+ * @usage:          Used by GeneticRun when the config sets a progress file
+ */
+
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+final class ProgressSink implements AutoCloseable {
+
+    private static final int FLUSH_RECORDS = 64;
+    private static final long FLUSH_NANOS = 1000000000L;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+    private static final String CSV_HEADER =
+        "generation,best,mean,min,diversity,feasible,generation_ns,elapsed_ms";
+    private final Path path;
+    private final boolean csv;
+    private final boolean append;
+    private final StringBuilder record = new StringBuilder(192);
+    private Writer out;
+    private ScheduledFuture<?> flusher;
+    private IOException flush_error;
+    private int unflushed = 0;
+    private long start_time = 0;
+    private long last_record_time = 0;
+    private int kept_generations = Integer.MAX_VALUE;
+
+
+
+    /**
+     * Daemon thread flushing every open sink, started on first use
+     */
+    private static final class Flusher {
+        static final ScheduledExecutorService THREAD = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "progress-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+
+    /**
+     * Constructor with progress file and format; the file is opened on
+     * the first record
+     * @param String - progress file, or named pipe
+     * @param String - format: ndjson or csv
+     * @param boolean - true to add to the file (e.g. when resuming),
+     *                  false to replace it
+     */
+    ProgressSink(String filename, String format, boolean append) {
+        this.path = Paths.get(filename);
+        this.csv = format.equals("csv");
+        this.append = append;
+    }
+
+
+    /**
+     * Whether a format name is known
+     * @param String - format name
+     * @return boolean - true for ndjson or csv
+     */
+    static boolean isFormat(String format) {
+        return format.equals("ndjson") || format.equals("csv");
+    }
+
+
+    /**
+     * Sets the generation a resumed run carries on from; records of later
+     * generations, written before the run was stopped, are dropped from
+     * the file when it is opened, so no generation is recorded twice
+     * @param int - generations restored from checkpoint
+     */
+    void resumeAt(int generations) {
+        kept_generations = generations;
+    }
+
+
+    /**
+     * Marks start of the run, from which generation and elapsed times are
+     * measured
+     */
+    void start() {
+        start_time = System.nanoTime();
+        last_record_time = start_time;
+    }
+
+
+    /**
+     * Writes the record of a generation
+     * @param int - generation number, 1 for first generation
+     * @param GenerationStats - statistics of generation
+     * @param Chromosome[] - genes of generation
+     * @param int - number of genes in generation
+     * @param int - number of chromosomes (items) in each gene
+     */
+    void generation(int generation, GenerationStats stats, Chromosome[] population,
+            int population_size, int number_of_items) {
+        long now = System.nanoTime();
+
+        // Mean distance from best gene, in one pass of word XORs
+        Chromosome best = population[stats.bestIndex()];
+        long distance = 0;
+        for(int i = 0; i < population_size; i++) {
+            distance = distance + best.distance(population[i]);
+        }
+        double diversity = (double) distance / ((double) population_size * number_of_items);
+
+        record.setLength(0);
+        if(csv) {
+            record.append(generation).append(',').append(stats.bestFitness())
+                .append(',').append(stats.meanFitness()).append(',').append(stats.minFitness())
+                .append(',').append(diversity).append(',').append(stats.feasibleCount())
+                .append(',').append(now - last_record_time).append(',').append((now - start_time) / 1000000L);
+        }
+        else {
+            record.append("{\"generation\":").append(generation)
+                .append(",\"best\":").append(stats.bestFitness())
+                .append(",\"mean\":").append(stats.meanFitness())
+                .append(",\"min\":").append(stats.minFitness())
+                .append(",\"diversity\":").append(diversity)
+                .append(",\"feasible\":").append(stats.feasibleCount())
+                .append(",\"generation_ns\":").append(now - last_record_time)
+                .append(",\"elapsed_ms\":").append((now - start_time) / 1000000L)
+                .append('}');
+        }
+        record.append('\n');
+        last_record_time = now;
+
+        synchronized(this) {
+            try {
+                if(flush_error != null) {
+                    throw flush_error;
+                }
+                if(out == null) {
+                    open();
+                }
+                out.append(record);
+                unflushed = unflushed + 1;
+                if(unflushed >= FLUSH_RECORDS) {
+                    out.flush();
+                    unflushed = 0;
+                }
+            }
+            catch(IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+
+    /**
+     * Flushes records waiting, if any; run by the flusher thread, which
+     * keeps an error for the run's thread to throw
+     */
+    private synchronized void flushWaiting() {
+        if(out == null || unflushed == 0 || flush_error != null) {
+            return;
+        }
+        try {
+            out.flush();
+            unflushed = 0;
+        }
+        catch(IOException e) {
+            flush_error = e;
+        }
+    }
+
+
+    /**
+     * Flushes remaining records and closes the file
+     */
+    @Override
+    public synchronized void close() {
+        if(out == null) {
+            return;
+        }
+        flusher.cancel(false);
+        try {
+            out.close();
+            if(flush_error != null) {
+                throw flush_error;
+            }
+        }
+        catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        finally {
+            out = null;
+        }
+    }
+
+
+    /**
+     * Opens the file, writing the CSV header unless adding to a file that
+     * already has records
+     */
+    private void open() throws IOException {
+        if(append && Files.isRegularFile(path)) {
+            long kept = keptLength();
+            if(kept < Files.size(path)) {
+                try(FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                    channel.truncate(kept);
+                }
+            }
+        }
+        boolean has_records = append && Files.isRegularFile(path) && Files.size(path) > 0;
+        out = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(path,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING),
+            StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        if(csv && !has_records) {
+            out.write(CSV_HEADER);
+            out.write('\n');
+        }
+        flusher = Flusher.THREAD.scheduleWithFixedDelay(this::flushWaiting, FLUSH_NANOS, FLUSH_NANOS,
+            TimeUnit.NANOSECONDS);
+    }
+
+
+    /**
+     * Length of the file's leading whole records of generations up to
+     * kept_generations (and CSV header); records are ASCII, one per line
+     * @return long - bytes to keep
+     */
+    private long keptLength() throws IOException {
+        long kept = 0;
+        try(BufferedReader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while((line = in.readLine()) != null) {
+                if(!(kept == 0 && csv && line.equals(CSV_HEADER))) {
+                    int start = csv ? 0 : line.indexOf(':') + 1;
+                    int end = line.indexOf(',');
+                    int generation;
+                    try {
+                        generation = end > start ? Integer.parseInt(line.substring(start, end)) : -1;
+                    }
+                    catch(NumberFormatException e) {
+                        generation = -1;
+                    }
+                    if(generation < 1 || generation > kept_generations) {
+                        break;
+                    }
+                }
+                kept = kept + line.length() + 1;
+            }
+        }
+        return Math.min(kept, Files.size(path));
+    }
+
+} // ProgressSink
@@ -0,0 +1,61 @@
+package knapsack;
+
+/**
+ * @filename:       RankSelection.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Linear rank selection; genes are sorted by fitness once
+ *                  per generation and the gene of rank r (1 = least fit)
+ *                  is selected with probability proportional to r; since
+ *                  the cumulative weight of ranks 1..r is r(r+1)/2, a pick
+ *                  inverts that directly, O(1) per pick; positions are
+ *                  sorted as primitives by IndexSort, equal fitness in
+ *                  order of position
+ */
+
+
+import java.util.SplittableRandom;
+
+public class RankSelection implements Selection {
+
+    private int population_size = 0;
+    private int[] order = new int[0];
+    private long[] keys = new long[0];
+    private int[] placed = new int[0];
+    private SplittableRandom generator;
+
+
+
+    /**
+     * Sorts gene positions by ascending fitness
+     */
+    @Override
+    public void prepare(double[] fitness, int population_size, double total_fitness,
+            SplittableRandom generator) {
+        this.generator = generator;
+        if(order.length != population_size) {
+            order = new int[population_size];
+            keys = new long[population_size];
+            placed = new int[population_size];
+        }
+        this.population_size = population_size;
+        IndexSort.ascending(fitness, population_size, order, keys, placed);
+    }
+
+
+    /**
+     * Solves r(r+1)/2 > rand for smallest rank r
+     */
+    @Override
+    public int select() {
+        double total_rank = population_size * (population_size + 1.0) / 2;
+        double rand = generator.nextDouble() * total_rank;
+        int rank = (int) Math.ceil((Math.sqrt(8 * rand + 1) - 1) / 2);
+        if(rank * (rank + 1.0) / 2 <= rand) {
+            rank = rank + 1;
+        }
+        rank = Math.min(Math.max(rank, 1), population_size);
+        return order[rank - 1];
+    }
+
+} // RankSelection
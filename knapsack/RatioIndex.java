@@ -0,0 +1,149 @@
+package knapsack;
+
+/**
+ * @filename:       RatioIndex.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Items of a problem in order of value/weight ratio, best
+ *                  first (items of weight <= 0 and value > 0 first of all,
+ *                  items of value <= 0 last), computed once per
+ *                  KnapsackInstance; used to build greedy solutions and to
+ *                  repair genes over capacity: repair leaves out selected
+ *                  items from the worst ratio up until the gene fits, then
+ *                  adds unselected items from the best ratio down while
+ *                  they fit; genes' totals are kept up to date throughout,
+ *                  so repairs never need a full evaluation
+ * @usage:          RatioIndex index = instance.ratioIndex();
+ *                  index.repair(gene, items, capacity);
+ */
+
+
+final class RatioIndex {
+
+    private final int[] order;
+
+
+
+    /**
+     * Default constructor; sorts items by ratio
+     * @param KnapsackItems - items to order
+     */
+    RatioIndex(KnapsackItems items) {
+        int number_of_items = items.size();
+        double[] ratio = new double[number_of_items];
+        for(int i = 0; i < number_of_items; i++) {
+            if(items.value(i) <= 0) {
+                ratio[i] = Double.NEGATIVE_INFINITY;
+            }
+            else if(items.weight(i) <= 0) {
+                ratio[i] = Double.POSITIVE_INFINITY;
+            }
+            else {
+                ratio[i] = items.value(i) / items.weight(i);
+            }
+        }
+        this.order = new int[number_of_items];
+        IndexSort.descending(ratio, number_of_items, this.order, new long[number_of_items],
+            new int[number_of_items]);
+    }
+
+
+    /**
+     * Item at a rank
+     * @param int - rank, 0 for best ratio
+     * @return int - item number
+     */
+    int item(int rank) {
+        return order[rank];
+    }
+
+
+    /**
+     * Number of items ranked
+     * @return int - number of items
+     */
+    int size() {
+        return order.length;
+    }
+
+
+    /**
+     * Upper bound on fitness of any solution (LP relaxation): items by
+     * ratio while they fit, then a fraction of the next; rounded down if
+     * all values are whole numbers
+     * @param KnapsackItems - items ranked
+     * @param double - knapsack capacity
+     * @return double - no solution is fitter than this
+     */
+    double upperBound(KnapsackItems items, double capacity) {
+        double bound = 0;
+        double room = capacity;
+        for(int rank = 0; rank < order.length; rank++) {
+            int item = order[rank];
+            double value = items.value(item);
+            double weight = items.weight(item);
+            if(value <= 0) {
+                break;
+            }
+            if(weight <= room) {
+                bound = bound + value;
+                room = room - weight;
+            }
+            else {
+                bound = bound + Math.max(0, value * room / weight);
+                break;
+            }
+        }
+        for(int i = 0; i < order.length; i++) {
+            if(items.value(i) != Math.floor(items.value(i))) {
+                return bound;
+            }
+        }
+        // Allow for rounding in the sum before rounding down
+        return Math.floor(bound + 1e-9 * Math.max(1, Math.abs(bound)));
+    }
+
+
+    /**
+     * Makes a gene over capacity fit, then fills it greedily; genes within
+     * capacity are left as they are
+     * @param Chromosome - gene to repair, totals evaluated
+     * @param KnapsackItems - items the gene selects from
+     * @param double - knapsack capacity
+     * @return boolean - true if gene was repaired
+     */
+    boolean repair(Chromosome gene, KnapsackItems items, double capacity) {
+        if(gene.totalWeight() <= capacity) {
+            return false;
+        }
+
+        // Leave out worst ratio items until gene fits
+        for(int rank = order.length - 1; rank >= 0 && gene.totalWeight() > capacity; rank--) {
+            if(gene.get(order[rank])) {
+                gene.flip(order[rank], items);
+            }
+        }
+        fill(gene, items, capacity);
+        return true;
+    }
+
+
+    /**
+     * Adds unselected items to a gene, best ratio first, while they fit
+     * @param Chromosome - gene to fill, totals evaluated
+     * @param KnapsackItems - items the gene selects from
+     * @param double - knapsack capacity
+     */
+    void fill(Chromosome gene, KnapsackItems items, double capacity) {
+        for(int rank = 0; rank < order.length; rank++) {
+            int item = order[rank];
+            if(items.value(item) <= 0) {
+                break;
+            }
+            if(!gene.get(item) && gene.totalWeight() + items.weight(item) <= capacity) {
+                gene.flip(item, items);
+            }
+        }
+    }
+
+} // RatioIndex
@@ -0,0 +1,70 @@
+package knapsack;
+
+/**
+ * @filename:       RouletteSelection.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Fitness-proportionate (roulette wheel) selection; builds
+ *                  an array of cumulative fitness once per generation and
+ *                  finds each pick by binary search, O(log n) per pick; a
+ *                  generation with total fitness 0 selects uniformly
+ */
+
+
+import java.util.SplittableRandom;
+
+public class RouletteSelection implements Selection {
+
+    private int population_size = 0;
+    private double total_fitness = 0;
+    private double[] cumulative_fitness = new double[0];
+    private SplittableRandom generator;
+
+
+
+    /**
+     * Fills cumulative_fitness, cumulative_fitness[i] being the sum of
+     * fitness of genes 0 to i
+     */
+    @Override
+    public void prepare(double[] fitness, int population_size, double total_fitness,
+            SplittableRandom generator) {
+        this.generator = generator;
+        if(cumulative_fitness.length < population_size) {
+            cumulative_fitness = new double[population_size];
+        }
+        double running_total = 0;
+        for(int i = 0; i < population_size; i++) {
+            running_total = running_total + fitness[i];
+            cumulative_fitness[i] = running_total;
+        }
+        this.population_size = population_size;
+        this.total_fitness = running_total;
+    }
+
+
+    /**
+     * Selects first gene whose cumulative fitness exceeds a random number
+     * between 0 and total fitness
+     */
+    @Override
+    public int select() {
+        if(total_fitness <= 0) {
+            return generator.nextInt(population_size);
+        }
+        double rand = generator.nextDouble() * total_fitness;
+        int low = 0;
+        int high = population_size - 1;
+        while(low < high) {
+            int middle = (low + high) >>> 1;
+            if(cumulative_fitness[middle] > rand) {
+                high = middle;
+            }
+            else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+} // RouletteSelection
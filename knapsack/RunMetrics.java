@@ -0,0 +1,164 @@
+package knapsack;
+
+/**
+ * @filename:       RunMetrics.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Timers and counters of one GeneticRun: nanoseconds
+ *                  spent in each phase of breeding (selection, crossover,
+ *                  mutation, evaluation, reporting) and in whole
+ *                  generations, counts of generations, evaluations,
+ *                  crossovers, clonings, mutations and fitness cache hits
+ *                  and misses, and bytes allocated by the breeding thread
+ *                  (HotSpot ThreadMXBean, if available); only kept when
+ *                  stats are switched on, confined to the breeding thread;
+ *                  totals not yet published are added to the engine's
+ *                  EngineMetrics once per generation
+ */
+
+
+import java.lang.management.ManagementFactory;
+
+final class RunMetrics {
+
+    static final int SELECTION_NANOS = 0;
+    static final int CROSSOVER_NANOS = 1;
+    static final int MUTATION_NANOS = 2;
+    static final int EVALUATION_NANOS = 3;
+    static final int REPORTING_NANOS = 4;
+    static final int GENERATION_NANOS = 5;
+    static final int GENERATIONS = 6;
+    static final int EVALUATIONS = 7;
+    static final int CROSSOVERS = 8;
+    static final int CLONES = 9;
+    static final int MUTATIONS = 10;
+    static final int CACHE_HITS = 11;
+    static final int CACHE_MISSES = 12;
+    static final int ALLOCATED_BYTES = 13;
+    static final String[] NAMES = { "selection_ns", "crossover_ns", "mutation_ns", "evaluation_ns",
+        "reporting_ns", "generation_ns", "generations", "evaluations", "crossovers", "clones",
+        "mutations", "cache_hits", "cache_misses", "allocated_bytes" };
+    private final long[] totals = new long[NAMES.length];
+    private final long[] published = new long[NAMES.length];
+    private final com.sun.management.ThreadMXBean thread_bean;
+    private long generation_start = 0;
+    private long allocated_start = 0;
+
+
+
+    /**
+     * Default constructor
+     */
+    RunMetrics() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if(bean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            this.thread_bean = (com.sun.management.ThreadMXBean) bean;
+        }
+        else {
+            this.thread_bean = null;
+        }
+    }
+
+
+    /**
+     * Adds time since start to a phase
+     * @param int - phase, e.g. SELECTION_NANOS
+     * @param long - System.nanoTime() at start of phase
+     */
+    void lap(int phase, long start) {
+        totals[phase] = totals[phase] + (System.nanoTime() - start);
+    }
+
+
+    /**
+     * Adds to a counter
+     * @param int - counter, e.g. EVALUATIONS
+     * @param long - amount to add
+     */
+    void count(int counter, long amount) {
+        totals[counter] = totals[counter] + amount;
+    }
+
+
+    /**
+     * Marks start of a generation
+     */
+    void startGeneration() {
+        generation_start = System.nanoTime();
+        allocated_start = allocatedBytes();
+    }
+
+
+    /**
+     * Marks end of a generation
+     */
+    void endGeneration() {
+        lap(GENERATION_NANOS, generation_start);
+        count(ALLOCATED_BYTES, allocatedBytes() - allocated_start);
+        count(GENERATIONS, 1);
+    }
+
+
+    /**
+     * Gets a total
+     * @param int - timer or counter
+     * @return long - total so far
+     */
+    long total(int index) {
+        return totals[index];
+    }
+
+
+    /**
+     * Adds totals not yet published to engine's metrics
+     * @param EngineMetrics - engine's metrics, or null for none
+     */
+    void publish(EngineMetrics engine_metrics) {
+        if(engine_metrics == null) {
+            return;
+        }
+        for(int i = 0; i < totals.length; i++) {
+            engine_metrics.add(i, totals[i] - published[i]);
+            published[i] = totals[i];
+        }
+    }
+
+
+    /**
+     * Totals as a line of name=value pairs, with evaluations per second
+     * of generation time
+     * @param int - generations bred so far
+     * @return String - stats line
+     */
+    String statsLine(int generation) {
+        StringBuilder line = new StringBuilder(320);
+        line.append("stats generation=").append(generation);
+        for(int i = 0; i < totals.length; i++) {
+            line.append(' ').append(NAMES[i]).append('=').append(totals[i]);
+        }
+        line.append(" evaluations_per_second=").append(perSecond(totals[EVALUATIONS], totals[GENERATION_NANOS]));
+        return line.toString();
+    }
+
+
+    /**
+     * Rate of a count over a time
+     * @param long - count
+     * @param long - time in nanoseconds
+     * @return long - count per second, 0 if no time
+     */
+    static long perSecond(long count, long nanos) {
+        return nanos > 0 ? (long) (count * 1e9 / nanos) : 0;
+    }
+
+
+    /**
+     * Bytes allocated by the calling thread so far
+     * @return long - bytes, or 0 if not supported
+     */
+    private long allocatedBytes() {
+        return thread_bean != null ? thread_bean.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+    }
+
+} // RunMetrics
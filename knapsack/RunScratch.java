@@ -0,0 +1,141 @@
+package knapsack;
+
+/**
+ * @filename:       RunScratch.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Working storage of a GeneticRun kept for the next run
+ *                  on the same thread: genes of the population and breed
+ *                  population, fitness array, fitness cache, selection
+ *                  strategy, recent fitness series and history; each is
+ *                  reused when the next run's sizes match, else replaced;
+ *                  only one run at a time may use a scratch
+ * @usage:          ThreadLocal<RunScratch> scratch = ThreadLocal.withInitial(RunScratch::new);
+ *                  engine.solve(instance, config, reporter, scratch.get());
+ */
+
+
+final class RunScratch {
+
+    Chromosome[] population = new Chromosome[0];
+    Chromosome[] breed_population = new Chromosome[0];
+    double[] fitness = new double[0];
+    private FitnessCache cache;
+    private int cache_size = 0;
+    private Selection selection;
+    private String selection_key;
+    private DoubleSeries mean_fitness;
+    private DoubleSeries best_fitness;
+    private int recent_generations = 0;
+    private FitnessHistory history;
+
+
+
+    /**
+     * Makes population arrays hold population_size genes of a length,
+     * keeping them if they already do; reused genes keep old chromosomes
+     * and totals, so must be overwritten before use
+     * @param int - number of genes
+     * @param int - number of chromosomes (items) in each gene
+     */
+    void fit(int population_size, int number_of_items) {
+        if(population.length == population_size && population_size > 0
+                && population[0].length() == number_of_items) {
+            return;
+        }
+        fitness = new double[population_size];
+        population = new Chromosome[population_size];
+        breed_population = new Chromosome[population_size];
+        for(int i = 0; i < population_size; i++) {
+            population[i] = new Chromosome(number_of_items);
+            breed_population[i] = new Chromosome(number_of_items);
+        }
+    }
+
+
+    /**
+     * Empty fitness cache of a size
+     * @param int - number of entries
+     * @return FitnessCache - cleared cache
+     */
+    FitnessCache cache(int size) {
+        if(cache == null || cache_size != size) {
+            cache = new FitnessCache(size);
+            cache_size = size;
+        }
+        else {
+            cache.clear();
+        }
+        return cache;
+    }
+
+
+    /**
+     * Selection strategy of a config, kept while name and tournament size
+     * are the same; strategies are prepared afresh every generation
+     * @param GeneticConfig - algorithm parameters
+     * @return Selection - selection strategy
+     */
+    Selection selection(GeneticConfig config) {
+        String key = config.getSelectionName() + "/" + config.getTournamentSize();
+        if(selection == null || !key.equals(selection_key)) {
+            selection = config.newSelection();
+            selection_key = key;
+        }
+        return selection;
+    }
+
+
+    /**
+     * Empty bounded series of mean fitness by generation
+     * @param int - number of recent generations kept
+     * @return DoubleSeries - cleared series
+     */
+    DoubleSeries meanFitness(int retain) {
+        fitSeries(retain);
+        mean_fitness.clear();
+        return mean_fitness;
+    }
+
+
+    /**
+     * Empty bounded series of best fitness by generation
+     * @param int - number of recent generations kept
+     * @return DoubleSeries - cleared series
+     */
+    DoubleSeries bestFitness(int retain) {
+        fitSeries(retain);
+        best_fitness.clear();
+        return best_fitness;
+    }
+
+
+    /**
+     * Empty fitness history of a capacity
+     * @param int - most points
+     * @return FitnessHistory - cleared history
+     */
+    FitnessHistory history(int capacity) {
+        if(history == null || history.capacity() != capacity) {
+            history = new FitnessHistory(capacity);
+        }
+        else {
+            history.clear();
+        }
+        return history;
+    }
+
+
+    /**
+     * Makes recent series keep a number of generations
+     * @param int - number of recent generations kept
+     */
+    private void fitSeries(int retain) {
+        if(mean_fitness == null || recent_generations != retain) {
+            mean_fitness = DoubleSeries.bounded(retain);
+            best_fitness = DoubleSeries.bounded(retain);
+            recent_generations = retain;
+        }
+    }
+
+} // RunScratch
@@ -0,0 +1,64 @@
+package knapsack;
+
+/**
+ * @filename:       Selection.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Strategy for selecting genes for breeding; prepare() is
+ *                  called once per generation, after fitness evaluation,
+ *                  so each select() call only does constant or logarithmic
+ *                  work instead of scanning the whole fitness array; all
+ *                  randomness comes from the generator passed to prepare(),
+ *                  so a seeded run selects the same genes every time
+ */
+
+
+import java.util.SplittableRandom;
+
+public interface Selection {
+
+    /**
+     * Builds whatever lookup structure the strategy needs for a generation
+     * @param double[] - fitness of each gene in population
+     * @param int - number of genes in population
+     * @param double - sum of fitness of all genes
+     * @param SplittableRandom - source of randomness for this generation's picks
+     */
+    void prepare(double[] fitness, int population_size, double total_fitness,
+        SplittableRandom generator);
+
+
+    /**
+     * Selects a gene for breeding
+     * @return int - position of gene in population array
+     */
+    int select();
+
+
+    /**
+     * Creates a selection strategy by name: roulette, alias, tournament,
+     * sus or rank
+     * @param String - name of strategy
+     * @param int - number of genes competing in each tournament
+     * @return Selection - new strategy, or null if name is unknown
+     */
+    static Selection named(String name, int tournament_size) {
+        if(name.equals("roulette")) {
+            return new RouletteSelection();
+        }
+        if(name.equals("alias")) {
+            return new AliasSelection();
+        }
+        if(name.equals("tournament")) {
+            return new TournamentSelection(tournament_size);
+        }
+        if(name.equals("sus")) {
+            return new StochasticUniversalSelection();
+        }
+        if(name.equals("rank")) {
+            return new RankSelection();
+        }
+        return null;
+    }
+
+} // Selection
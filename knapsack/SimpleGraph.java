@@ -3,12 +3,20 @@ package knapsack;
 /**
  * @filename:       SimpleGraph.java
  * @author:         Matthew Mayo
- * @modified:       2014-04-08
- * @description:    Creates a SimpleGraph object based on supplied ArrayList
- *                  of data points; draws graph, adds points, lines, appropriate
+ * @modified:       2026-10-18
+ * @description:    Creates a SimpleGraph object based on supplied array
+ *                  (or ArrayList) of data points; draws graph, adds points, lines, appropriate
  *                  hatch marks; must supply ArrayList of data points to plot 
- *                  and title of graph to display
+ *                  and title of graph to display; closing the window only
+ *                  disposes of it; write() renders one or more series off
+ *                  screen instead (works with java.awt.headless=true) to
+ *                  a PNG or SVG file; range of data is found once, and
+ *                  series longer than the plot is wide are decimated to
+ *                  the first, lowest, highest and last point of each
+ *                  pixel column, so drawing takes time proportional to
+ *                  the width, not the number of points
  * @usage:          java SimpleGraph <data_points> <graph_title>
+ *                  SimpleGraph.write("chart.png", title, span, series, names);
  * @note:           Inspiration for, and adapted code, comes from:
  *                  http://stackoverflow.com/questions/8693342/drawing-a-simple-line-graph-in-java
  */
@@ -20,27 +28,42 @@ import java.awt.Dimension;
 import java.awt.FontMetrics;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
-import java.awt.Point;
 import java.awt.RenderingHints;
 import java.awt.Stroke;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Locale;
+import javax.imageio.ImageIO;
 import javax.swing.JFrame;
 import javax.swing.JPanel;
 
 public class SimpleGraph extends JPanel {
 
     private int width = 800;
-    private int heigth = 400;
+    private int heigth = 600;
     private int padding = 25;
     private int label_padding = 25;
     private int point_width = 6;
     private int number_y_divisions = 0;
+    private int min_data_point = 0;
+    private int max_data_point = 1;
     private Color line_color = new Color(44, 102, 230, 180);
+    private Color second_line_color = new Color(230, 102, 44, 180);
     private Color point_color = Color.BLACK;
     private Color grid_color = new Color(200, 200, 200, 200);
-    private static final Stroke GRAPH_STROKE = new BasicStroke(2f);
+    private Color[] series_colors = { line_color, second_line_color };
+    private static final float GRAPH_STROKE_WIDTH = 2f;
+    private static final int MAXIMUM_Y_DIVISIONS = 10;
     private String graph_title = "";
-    private ArrayList<Double> data_points;
+    private double[] data_points;
+    private double[][] series;
+    private String[] series_names;
+    private int span = 1;
 
 
 
@@ -70,24 +93,40 @@ public class SimpleGraph extends JPanel {
 
 
     /**
-     * Default constructor
+     * Constructor taking boxed data points
      */
     public SimpleGraph(ArrayList<Double> data_points, String graph_title) {
+        this(toArray(data_points), graph_title);
+    }
 
-        // Set data points data set and graph title
-        this.data_points = data_points;
-        this.graph_title = graph_title;
 
-        // Set number of y divisions by fidning difference between
-        // max and min data points
-        number_y_divisions = getMaxDataPoint() - getMinDataPoint();
+    /**
+     * Constructor for data points each summarizing span generations, as
+     * in a FitnessHistory; x axis is labelled by first generation of point
+     */
+    public SimpleGraph(double[] data_points, int span, String graph_title) {
+        this(data_points, graph_title, span);
+    }
 
-        // Set preferred size of panel
-        this.setPreferredSize(new Dimension(800, 600));
 
-        // Create content frame, add to panel
+    /**
+     * Default constructor
+     */
+    public SimpleGraph(double[] data_points, String graph_title) {
+        this(data_points, graph_title, 1);
+    }
+
+
+    /**
+     * Sets up graph of one series and shows it in a window
+     */
+    private SimpleGraph(double[] data_points, String graph_title, int span) {
+        this(new double[][] { data_points }, new String[] { graph_title }, graph_title, span);
+
+        // Create content frame, add to panel; closing it leaves the
+        // program running
         JFrame frame = new JFrame(graph_title);
-        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
         frame.getContentPane().add(this);
         frame.pack();
         frame.setLocationRelativeTo(null);
@@ -96,6 +135,27 @@ public class SimpleGraph extends JPanel {
     }
 
 
+    /**
+     * Sets up graph without showing it
+     */
+    private SimpleGraph(double[][] series, String[] series_names, String graph_title, int span) {
+
+        // Set data points data set and graph title
+        this.series = series;
+        this.series_names = series_names;
+        this.data_points = series[0];
+        this.graph_title = graph_title;
+        this.span = span;
+
+        // Find range of data points and number of y divisions, once
+        findRange();
+
+        // Set preferred size of panel
+        this.setPreferredSize(new Dimension(width, heigth));
+
+    }
+
+
     /**
      * Creates and draws graph to specification
      * @param Graphics - What to be drawn
@@ -107,135 +167,398 @@ public class SimpleGraph extends JPanel {
         Graphics2D g2 = (Graphics2D)g;
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, 
             RenderingHints.VALUE_ANTIALIAS_ON);
+        draw(new GraphicsCanvas(g2), getWidth(), getHeight(), false);
 
-	// Set scales
-        double xScale = ((double) getWidth() - (2 * padding) - label_padding) 
-            / (data_points.size() - 1);
-        double yScale = ((double) getHeight() - 2 * padding - label_padding) 
-            / (getMaxDataPoint() - getMinDataPoint());
+    }
 
-	// Create array of Point objects from passed in array of Doubles
-        ArrayList<Point> graphPoints = new ArrayList<>();
-        for (int i = 0; i < data_points.size(); i++) {
-            int x1 = (int) (i * xScale + padding + label_padding);
-            int y1 = (int) ((getMaxDataPoint() - data_points.get(i)) * yScale 
-                + padding);
-            graphPoints.add(new Point(x1, y1));
+
+    /**
+     * Renders series off screen to a PNG or SVG file, by file extension,
+     * at the window's size; needs no display
+     * @param String - file to write, ending in .png or .svg
+     * @param String - title drawn above graph
+     * @param int - generations (x axis steps) per data point
+     * @param double[][] - series to plot, the same length, first on top
+     * @param String[] - name of each series, for the legend
+     */
+    public static void write(String filename, String graph_title, int span, double[][] series,
+            String[] names) throws IOException {
+        String lower = filename.toLowerCase(Locale.ROOT);
+        if(!lower.endsWith(".png") && !lower.endsWith(".svg")) {
+            throw new IllegalArgumentException("Chart file must end in .png or .svg: " + filename);
+        }
+        SimpleGraph graph = new SimpleGraph(series, names, graph_title, span);
+        if(lower.endsWith(".svg")) {
+            SvgCanvas canvas = new SvgCanvas(graph.width, graph.heigth);
+            graph.draw(canvas, graph.width, graph.heigth, true);
+            Files.write(Paths.get(filename), canvas.toString().getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        BufferedImage image = new BufferedImage(graph.width, graph.heigth, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        try {
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setColor(Color.WHITE);
+            g2.fillRect(0, 0, graph.width, graph.heigth);
+            graph.draw(new GraphicsCanvas(g2), graph.width, graph.heigth, true);
+        }
+        finally {
+            g2.dispose();
+        }
+        if(!ImageIO.write(image, "png", new File(filename))) {
+            throw new IOException("No PNG writer available");
         }
+    }
+
+
+    /**
+     * Draws graph: background, grid, axes with labels, then each series
+     * as a line, with points unless decimated
+     * @param Canvas - where to draw
+     * @param int - width to fill
+     * @param int - height to fill
+     * @param boolean - true to draw title (and legend, if several series)
+     */
+    private void draw(Canvas g2, int width, int height, boolean titled) {
+
+        // Widen left margin if y labels need it
+        int left_padding = Math.max(label_padding, Math.max(g2.textWidth(min_data_point + "   "),
+            g2.textWidth(max_data_point + "   ")) + 10 - padding);
+        int left = padding + left_padding;
+        int bottom = height - padding - label_padding;
+        // At least a pixel, however small the image or wide the labels
+        int plot_width = Math.max(1, width - (2 * padding) - left_padding);
+        int plot_height = Math.max(1, height - 2 * padding - label_padding);
+        int length = data_points.length;
+
+	// Set scales
+        double xScale = length > 1 ? (double) plot_width / (length - 1) : 0;
+        double yScale = (double) plot_height / (max_data_point - min_data_point);
 
         // Draw white background
-        g2.setColor(Color.WHITE);
-        g2.fillRect(padding + label_padding, padding, getWidth() - (2 * padding) 
-            - label_padding, getHeight() - 2 * padding - label_padding);
-        g2.setColor(Color.BLACK);
+        g2.color(Color.WHITE);
+        g2.fillRect(left, padding, plot_width, plot_height);
+        g2.color(Color.BLACK);
 
         // Create hatch marks and grid lines for y axis
         for (int i = 0; i < number_y_divisions + 1; i++) {
-            if(number_y_divisions == 0) {
-		number_y_divisions = number_y_divisions + 1;
-	    }
-	    int x0 = padding + label_padding;
-            int x1 = point_width + padding + label_padding;
-            int y0 = getHeight() - ((i * (getHeight() - padding * 2 
-                - label_padding)) / number_y_divisions + padding + label_padding);
+	    int x0 = padding + left_padding;
+            int x1 = point_width + padding + left_padding;
+            int y0 = height - ((i * plot_height) / number_y_divisions + padding + label_padding);
             int y1 = y0;
-            if (data_points.size() > 0) {
-                g2.setColor(grid_color);
-                g2.drawLine(padding + label_padding + 1 + point_width, y0, 
-                    getWidth() - padding, y1);
-                g2.setColor(Color.BLACK);
-                String yLabel = ((int) (getMinDataPoint() + (getMaxDataPoint() - getMinDataPoint()) * 
+            if (length > 0) {
+                g2.color(grid_color);
+                g2.line(padding + left_padding + 1 + point_width, y0, 
+                    width - padding, y1);
+                g2.color(Color.BLACK);
+                String yLabel = ((int) (min_data_point + (max_data_point - min_data_point) * 
                     ((i * 1.0) / number_y_divisions))) + "   ";
-                FontMetrics metrics = g2.getFontMetrics();
-                int labelWidth = metrics.stringWidth(yLabel);
-                g2.drawString(yLabel, x0 - labelWidth - 5, y0 
-                    + (metrics.getHeight() / 2) - 3);
+                g2.text(yLabel, x0 - 5, y0 + (g2.textHeight() / 2) - 3, Canvas.END);
             }
-            g2.drawLine(x0, y0, x1, y1);
+            g2.line(x0, y0, x1, y1);
         }
 
-        // Create hatch marks and grid lines for x axis
-        for (int i = 0; i < data_points.size(); i++) {
-            if (data_points.size() > 1) {
-                int x0 = i * (getWidth() - padding * 2 - label_padding) 
-                    / (data_points.size() - 1) + padding + label_padding;
-                int x1 = x0;
-                int y0 = getHeight() - padding - label_padding;
-                int y1 = y0 - point_width;
-                if ((i % ((int) ((data_points.size() / 20.0)) + 1)) == 0) {
-                    g2.setColor(grid_color);
-                    g2.drawLine(x0, getHeight() - padding - label_padding - 1 
-                        - point_width, x1, padding);
-                    g2.setColor(Color.BLACK);
-                    String xLabel = (i + 1) + "";
-                    FontMetrics metrics = g2.getFontMetrics();
-                    int labelWidth = metrics.stringWidth(xLabel);
-                    g2.drawString(xLabel, x0 - labelWidth / 2, y0 
-                        + metrics.getHeight() + 3);
-                }
-                g2.drawLine(x0, y0, x1, y1);
+        // Create hatch marks and grid lines for x axis; labels far enough
+        // apart not to overlap; with more points than fit, only labelled
+        // points get a hatch mark
+        int label_step = (int) (length / 20.0) + 1;
+        int label_width = g2.textWidth(((long) length * span) + "") + 10;
+        label_step = (int) Math.max(label_step, ((long) length * label_width + plot_width - 1) / plot_width);
+        boolean every_point = length <= plot_width / point_width;
+        for (int i = 0; i < length && length > 1; i = i + (every_point ? 1 : label_step)) {
+            int x0 = (int) ((long) i * plot_width / (length - 1)) + padding + left_padding;
+            int x1 = x0;
+            int y0 = bottom;
+            int y1 = y0 - point_width;
+            if ((i % label_step) == 0) {
+                g2.color(grid_color);
+                g2.line(x0, bottom - 1 - point_width, x1, padding);
+                g2.color(Color.BLACK);
+                String xLabel = ((long) i * span + 1) + "";
+                g2.text(xLabel, x0, y0 + g2.textHeight() + 3, Canvas.MIDDLE);
             }
+            g2.line(x0, y0, x1, y1);
         }
 
         // Create x and y axes
-        g2.drawLine(padding + label_padding, getHeight() - padding - label_padding, 
-            padding + label_padding, padding);
-        g2.drawLine(padding + label_padding, getHeight() - padding - label_padding, 
-            getWidth() - padding, getHeight() - padding - label_padding);
-
-        // Draw lines
-        Stroke oldStroke = g2.getStroke();
-        g2.setColor(line_color);
-        g2.setStroke(GRAPH_STROKE);
-        for (int i = 0; i < graphPoints.size() - 1; i++) {
-            int x1 = graphPoints.get(i).x;
-            int y1 = graphPoints.get(i).y;
-            int x2 = graphPoints.get(i + 1).x;
-            int y2 = graphPoints.get(i + 1).y;
-            g2.drawLine(x1, y1, x2, y2);
-        }
-
-        // Draw points
-        g2.setStroke(oldStroke);
-        g2.setColor(point_color);
-        for (int i = 0; i < graphPoints.size(); i++) {
-            int x = graphPoints.get(i).x - point_width / 2;
-            int y = graphPoints.get(i).y - point_width / 2;
-            int ovalW = point_width;
-            int ovalH = point_width;
-            g2.fillOval(x, y, ovalW, ovalH);
+        g2.line(left, bottom, left, padding);
+        g2.line(left, bottom, width - padding, bottom);
+
+        // Draw lines, last series first so the first is on top; decimated
+        // to the pixel columns of the plot if there are more points
+        for (int s = series.length - 1; s >= 0; s--) {
+            double[] points = series[s];
+            int[] xs = new int[Math.min(points.length, 4 * (plot_width + 1))];
+            int[] ys = new int[xs.length];
+            int count = 0;
+            boolean decimated = points.length > plot_width + 1;
+            for (int i = 0; i < points.length; ) {
+                int x = (int) (i * xScale + left);
+                int first = i;
+                int lowest = i;
+                int highest = i;
+                if (decimated) {
+                    while (i + 1 < points.length && (int) ((i + 1) * xScale + left) == x) {
+                        i = i + 1;
+                        if (points[i] < points[lowest]) {
+                            lowest = i;
+                        }
+                        if (points[i] > points[highest]) {
+                            highest = i;
+                        }
+                    }
+                }
+                int[] column = { first, Math.min(lowest, highest), Math.max(lowest, highest), i };
+                for (int c = 0; c < column.length; c++) {
+                    if (c > 0 && column[c] == column[c - 1]) {
+                        continue;
+                    }
+                    xs[count] = x;
+                    ys[count] = (int) ((max_data_point - points[column[c]]) * yScale + padding);
+                    count = count + 1;
+                }
+                i = i + 1;
+            }
+            g2.color(series_colors[s % series_colors.length]);
+            g2.stroke(GRAPH_STROKE_WIDTH);
+            g2.polyline(xs, ys, count);
+            g2.stroke(1f);
+
+            // Draw points
+            if (!decimated && length <= plot_width / point_width) {
+                g2.color(point_color);
+                for (int i = 0; i < count; i++) {
+                    g2.fillOval(xs[i] - point_width / 2, ys[i] - point_width / 2, point_width, point_width);
+                }
+            }
+        }
+
+        // Title, and legend right of it
+        if (titled) {
+            g2.color(Color.BLACK);
+            g2.text(graph_title, width / 2, padding - 8, Canvas.MIDDLE);
+            int x = width - padding;
+            for (int s = series.length - 1; s >= 0 && series.length > 1; s--) {
+                x = x - g2.textWidth(series_names[s]);
+                g2.color(Color.BLACK);
+                g2.text(series_names[s], x, padding - 8, Canvas.START);
+                g2.color(series_colors[s % series_colors.length]);
+                g2.stroke(GRAPH_STROKE_WIDTH);
+                g2.line(x - 26, padding - 12, x - 6, padding - 12);
+                g2.stroke(1f);
+                x = x - 40;
+            }
+        }
+
+    }
+
+
+    /**
+     * Finds range of data points in all series, once, rounded out to
+     * whole numbers as the axis labels are
+     */
+    private void findRange() {
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (double[] points : series) {
+            for (double data_point : points) {
+                min = Math.min(min, (int) data_point);
+                max = Math.max(max, (int) data_point + 1);
+            }
+        }
+        if (min > max) {
+            min = 0;
+            max = 1;
+        }
+        min_data_point = min;
+        max_data_point = max;
+        number_y_divisions = Math.max(1, Math.min(max - min, MAXIMUM_Y_DIVISIONS));
+    }
+
+
+    /**
+     * Drawing operations graph needs, on screen or in a file
+     */
+    private interface Canvas {
+
+        int START = 0;
+        int MIDDLE = 1;
+        int END = 2;
+
+        void color(Color color);
+
+        void stroke(float width);
+
+        void line(int x0, int y0, int x1, int y1);
+
+        void polyline(int[] xs, int[] ys, int count);
+
+        void fillRect(int x, int y, int width, int height);
+
+        void fillOval(int x, int y, int width, int height);
+
+        void text(String text, int x, int y, int anchor);
+
+        int textWidth(String text);
+
+        int textHeight();
+    }
+
+
+    /**
+     * Canvas drawing with Graphics2D, for the window and PNG files
+     */
+    private static final class GraphicsCanvas implements Canvas {
+
+        private final Graphics2D g2;
+        private final Stroke old_stroke;
+
+        GraphicsCanvas(Graphics2D g2) {
+            this.g2 = g2;
+            this.old_stroke = g2.getStroke();
+        }
+
+        public void color(Color color) {
+            g2.setColor(color);
+        }
+
+        public void stroke(float width) {
+            g2.setStroke(width == 1f ? old_stroke : new BasicStroke(width));
+        }
+
+        public void line(int x0, int y0, int x1, int y1) {
+            g2.drawLine(x0, y0, x1, y1);
+        }
+
+        public void polyline(int[] xs, int[] ys, int count) {
+            g2.drawPolyline(xs, ys, count);
+        }
+
+        public void fillRect(int x, int y, int width, int height) {
+            g2.fillRect(x, y, width, height);
+        }
+
+        public void fillOval(int x, int y, int width, int height) {
+            g2.fillOval(x, y, width, height);
+        }
+
+        public void text(String text, int x, int y, int anchor) {
+            FontMetrics metrics = g2.getFontMetrics();
+            int labelWidth = metrics.stringWidth(text);
+            g2.drawString(text, x - (anchor == END ? labelWidth : anchor == MIDDLE ? labelWidth / 2 : 0), y);
+        }
+
+        public int textWidth(String text) {
+            return g2.getFontMetrics().stringWidth(text);
         }
 
+        public int textHeight() {
+            return g2.getFontMetrics().getHeight();
+        }
     }
 
 
     /**
-     * Returns minimum data point in data_points set
-     * @return int - Minimum data point in set
+     * Canvas writing SVG elements, for SVG files
      */
-    private int getMinDataPoint() {
-        int min_data_point = Integer.MAX_VALUE;
-        Integer dp_conv = 0;
-        for (Double data_point : data_points) {
-	    dp_conv = (int) data_point.doubleValue();
-            min_data_point = Math.min(min_data_point, dp_conv);
-        }
-        return min_data_point;
+    private static final class SvgCanvas implements Canvas {
+
+        private static final int TEXT_HEIGHT = 15;
+        private static final int CHARACTER_WIDTH = 7;
+        private final StringBuilder svg = new StringBuilder(1 << 14);
+        private String color = "rgb(0,0,0)";
+        private String opacity = "";
+        private float stroke_width = 1f;
+
+        SvgCanvas(int width, int height) {
+            svg.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"").append(width)
+                .append("\" height=\"").append(height).append("\" viewBox=\"0 0 ").append(width)
+                .append(' ').append(height).append("\" font-family=\"sans-serif\" font-size=\"12\">\n");
+            svg.append("<rect width=\"100%\" height=\"100%\" fill=\"white\"/>\n");
+        }
+
+        public void color(Color color) {
+            this.color = "rgb(" + color.getRed() + "," + color.getGreen() + "," + color.getBlue() + ")";
+            this.opacity = color.getAlpha() == 255 ? ""
+                : String.format(Locale.ROOT, " opacity=\"%.3f\"", color.getAlpha() / 255.0);
+        }
+
+        public void stroke(float width) {
+            this.stroke_width = width;
+        }
+
+        public void line(int x0, int y0, int x1, int y1) {
+            svg.append("<line x1=\"").append(x0).append("\" y1=\"").append(y0).append("\" x2=\"")
+                .append(x1).append("\" y2=\"").append(y1).append('"');
+            strokeAttributes();
+            svg.append("/>\n");
+        }
+
+        public void polyline(int[] xs, int[] ys, int count) {
+            svg.append("<polyline fill=\"none\" points=\"");
+            for (int i = 0; i < count; i++) {
+                svg.append(i > 0 ? " " : "").append(xs[i]).append(',').append(ys[i]);
+            }
+            svg.append('"');
+            strokeAttributes();
+            svg.append("/>\n");
+        }
+
+        public void fillRect(int x, int y, int width, int height) {
+            svg.append("<rect x=\"").append(x).append("\" y=\"").append(y).append("\" width=\"")
+                .append(width).append("\" height=\"").append(height).append("\" fill=\"")
+                .append(color).append('"').append(opacity).append("/>\n");
+        }
+
+        public void fillOval(int x, int y, int width, int height) {
+            svg.append("<ellipse cx=\"").append(x + width / 2.0).append("\" cy=\"").append(y + height / 2.0)
+                .append("\" rx=\"").append(width / 2.0).append("\" ry=\"").append(height / 2.0)
+                .append("\" fill=\"").append(color).append('"').append(opacity).append("/>\n");
+        }
+
+        public void text(String text, int x, int y, int anchor) {
+            svg.append("<text x=\"").append(x).append("\" y=\"").append(y).append('"')
+                .append(anchor == END ? " text-anchor=\"end\"" : anchor == MIDDLE ? " text-anchor=\"middle\"" : "")
+                .append(" fill=\"").append(color).append("\">");
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                svg.append(c == '<' ? "&lt;" : c == '>' ? "&gt;" : c == '&' ? "&amp;" : String.valueOf(c));
+            }
+            svg.append("</text>\n");
+        }
+
+        public int textWidth(String text) {
+            return text.length() * CHARACTER_WIDTH;
+        }
+
+        public int textHeight() {
+            return TEXT_HEIGHT;
+        }
+
+        private void strokeAttributes() {
+            svg.append(" stroke=\"").append(color).append('"').append(opacity);
+            if (stroke_width != 1f) {
+                svg.append(" stroke-width=\"").append(stroke_width).append('"');
+            }
+        }
+
+        @Override
+        public String toString() {
+            return svg.toString() + "</svg>\n";
+        }
     }
 
 
     /**
-     * Returns maximum data point in data_points set
-     * @return int - Maximum data point in set
+     * Unboxes ArrayList of data points into primitive array
+     * @return double[] - data points
      */
-    private int getMaxDataPoint() {
-        int max_data_point = Integer.MIN_VALUE;
-        Integer dp_conv = 0;
-        for (Double data_point : data_points) {
-            dp_conv = (int) data_point.doubleValue() + 1;
-            max_data_point = Math.max(max_data_point, dp_conv);
-        }
-        return max_data_point;
+    private static double[] toArray(ArrayList<Double> data_points) {
+        double[] points = new double[data_points.size()];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = data_points.get(i);
+        }
+        return points;
     }
 
 } // SimpleGraph
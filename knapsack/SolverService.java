@@ -0,0 +1,588 @@
+package knapsack;
+
+/**
+ * @filename:       SolverService.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Local HTTP service solving problems for other
+ *                  processes, so they need not start a JVM each time;
+ *                  listens on the loopback address only:
+ *                    POST /solve   body is a problem in ProblemFile text
+ *                                  format; query parameters seed,
+ *                                  selection, tournament_size, engine,
+ *                                  seed_fraction, repair (true or false)
+ *                                  and time_limit (seconds) set the rest;
+ *                                  replies with JSON best_fitness,
+ *                                  total_weight, generations, seed, items
+ *                                  (selected items numbered from 1, as
+ *                                  showOptimalList prints them), queue_ms
+ *                                  and solve_ms
+ *                    GET /stats    JSON queue depth, requests running,
+ *                                  counts of completed, failed, invalid,
+ *                                  rejected and expired requests, and
+ *                                  percentiles
+ *                                  of queue wait and total latency over
+ *                                  the last LATENCY_WINDOW or more
+ *                                  requests
+ *                  requests wait in a bounded queue (full: 503); a
+ *                  dispatcher thread keeps at most one task per worker
+ *                  thread on the pool, taking every request waiting (up
+ *                  to batch_size) at once and grouping small ones, up to
+ *                  SMALL_WORK genes times items times generations, into
+ *                  one task, so a burst of small requests costs few
+ *                  tasks; each request's time budget (its time_limit,
+ *                  at most the service's) counts from when it arrived:
+ *                  a request still queued when it runs out gets 504,
+ *                  otherwise the genetic algorithm is stopped at what is
+ *                  left of it; exact engines are held to auto's limits,
+ *                  dp to problems auto would solve by dynamic programming
+ *                  and bnb to AUTO_NODE_LIMIT branches, else 400 or 422;
+ *                  bad problems or parameters get 400, all errors as
+ *                  JSON error
+ * @usage:          java knapsack/SolverService [--port <port>] [--threads <n>]
+ *                      [--queue <n>] [--batch <n>] [--time-limit <seconds>]
+ *                  curl --data-binary @problem.txt \
+ *                      'http://localhost:8080/solve?seed=1&time_limit=2'
+ */
+
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SolverService {
+
+    public static final int DEFAULT_PORT = 8080;
+    public static final int LATENCY_WINDOW = 1024;
+    private static final long SMALL_WORK = 1L << 22;
+    private static final int HANDLER_THREADS = 4;
+    private static final int READ_BUFFER_SIZE = 1 << 13;
+    private static final long MAXIMUM_BUDGET = Long.MAX_VALUE / 2000000L;
+    private final int port;
+    private final int number_of_threads;
+    private final int batch_size;
+    private final long time_limit;
+    private final LinkedBlockingQueue<Job> queue;
+    private final Semaphore free_workers;
+    private final GeneticEngine engine = new GeneticEngine();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong invalid = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final DoubleSeries queue_latencies = DoubleSeries.bounded(LATENCY_WINDOW);
+    private final DoubleSeries total_latencies = DoubleSeries.bounded(LATENCY_WINDOW);
+    private HttpServer server;
+    private ExecutorService handlers;
+    private ForkJoinPool pool;
+    private Thread dispatcher;
+
+
+
+    /**
+     * One request waiting for or being solved
+     */
+    private static final class Job {
+        final HttpExchange exchange;
+        final KnapsackInstance instance;
+        final GeneticConfig.Builder config;
+        final long received;
+        final long deadline;
+        final long work;
+        long started;
+        boolean submitted = false;
+
+        Job(HttpExchange exchange, KnapsackInstance instance, GeneticConfig.Builder config,
+                long received, long budget, long work) {
+            this.exchange = exchange;
+            this.instance = instance;
+            this.config = config;
+            this.received = received;
+            this.deadline = received + Math.min(budget, MAXIMUM_BUDGET) * 1000000L;
+            this.work = work;
+        }
+    }
+
+
+    /**
+     * Main method; serves until the process is stopped
+     */
+    public static void main(String[] args) {
+        int port = DEFAULT_PORT;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int queue_capacity = 1024;
+        int batch_size = 16;
+        double time_limit = 10;
+        for(int i = 0; i < args.length; i++) {
+            if(args[i].equals("--port") && (i + 1) < args.length && KnapsackProblem.isInteger(args[i + 1])) {
+                port = Integer.parseInt(args[i + 1]);
+                i = i + 1;
+            }
+            else if(args[i].equals("--threads") && (i + 1) < args.length && KnapsackProblem.isInteger(args[i + 1])) {
+                threads = Math.max(1, Integer.parseInt(args[i + 1]));
+                i = i + 1;
+            }
+            else if(args[i].equals("--queue") && (i + 1) < args.length && KnapsackProblem.isInteger(args[i + 1])) {
+                queue_capacity = Math.max(1, Integer.parseInt(args[i + 1]));
+                i = i + 1;
+            }
+            else if(args[i].equals("--batch") && (i + 1) < args.length && KnapsackProblem.isInteger(args[i + 1])) {
+                batch_size = Math.max(1, Integer.parseInt(args[i + 1]));
+                i = i + 1;
+            }
+            else if(args[i].equals("--time-limit") && (i + 1) < args.length && KnapsackProblem.isDouble(args[i + 1])) {
+                time_limit = Double.parseDouble(args[i + 1]);
+                i = i + 1;
+            }
+            else {
+                System.err.println("Usage: java knapsack/SolverService [--port <port>] [--threads <n>]"
+                    + " [--queue <n>] [--batch <n>] [--time-limit <seconds>]");
+                System.exit(1);
+            }
+        }
+        if(time_limit <= 0) {
+            System.err.println("Time limit must be positive: " + time_limit);
+            System.exit(1);
+        }
+        SolverService service = new SolverService(port, threads, queue_capacity, batch_size,
+            (long) Math.ceil(time_limit * 1000));
+        try {
+            service.start();
+        }
+        catch(IOException e) {
+            System.err.println("Problem with port " + port + ": " + e.getMessage());
+            System.exit(1);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(service::stop));
+        System.err.println("Solving on http://localhost:" + service.port() + "/solve with " + threads
+            + " threads");
+    }
+
+
+    /**
+     * Constructor with service parameters
+     * @param int - port to listen on, on the loopback address; 0 for any free port
+     * @param int - threads solving problems
+     * @param int - most requests waiting
+     * @param int - most waiting requests dispatched at once
+     * @param long - longest time budget of a request in milliseconds
+     */
+    public SolverService(int port, int number_of_threads, int queue_capacity, int batch_size, long time_limit) {
+        this.port = port;
+        this.number_of_threads = Math.max(1, number_of_threads);
+        this.batch_size = Math.max(1, batch_size);
+        this.time_limit = time_limit;
+        this.queue = new LinkedBlockingQueue<>(Math.max(1, queue_capacity));
+        this.free_workers = new Semaphore(this.number_of_threads);
+    }
+
+
+    /**
+     * Starts listening and solving
+     */
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        handlers = Executors.newFixedThreadPool(HANDLER_THREADS);
+        pool = new ForkJoinPool(number_of_threads);
+        server.setExecutor(handlers);
+        server.createContext("/solve", this::accept);
+        server.createContext("/stats", this::stats);
+        dispatcher = new Thread(this::dispatch, "solver-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+        server.start();
+    }
+
+
+    /**
+     * Port listened on, once started
+     * @return int - port
+     */
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+
+    /**
+     * Stops listening; requests still queued get 503
+     */
+    public void stop() {
+        server.stop(0);
+        dispatcher.interrupt();
+        pool.shutdown();
+        handlers.shutdown();
+        Job job;
+        while((job = queue.poll()) != null) {
+            respond(job.exchange, 503, error("Service stopping"));
+        }
+        engine.close();
+    }
+
+
+    /**
+     * Handles POST /solve: reads the problem and queues it
+     * @param HttpExchange - request
+     */
+    private void accept(HttpExchange exchange) {
+        long received = System.nanoTime();
+        if(!exchange.getRequestMethod().equals("POST")) {
+            respond(exchange, 405, error("Use POST"));
+            return;
+        }
+        Job job;
+        try {
+            ProblemFile problem = ProblemFile.read(new BufferedReader(
+                new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8), READ_BUFFER_SIZE));
+            GeneticConfig.Builder config = problem.toConfig();
+            long budget = configure(config, exchange.getRequestURI().getRawQuery());
+            KnapsackInstance instance = problem.toInstance();
+            if(config.build().getEngine().equals("dp") && !GeneticEngine.isSmall(instance)) {
+                throw new IllegalArgumentException("Problem too large for engine dp here; use auto or ga");
+            }
+            job = new Job(exchange, instance, config, received, budget,
+                (long) problem.getItems().size() * problem.getPopulationSize() * problem.getMaximumGenerations());
+        }
+        catch(IOException | IllegalArgumentException e) {
+            invalid.incrementAndGet();
+            respond(exchange, 400, error(e.getMessage()));
+            return;
+        }
+        if(!queue.offer(job)) {
+            rejected.incrementAndGet();
+            respond(exchange, 503, error("Queue full"));
+        }
+    }
+
+
+    /**
+     * Adds a request's query parameters to its problem's parameters
+     * @param GeneticConfig.Builder - problem's parameters
+     * @param String - raw query string, or null
+     * @return long - time budget of request in milliseconds
+     */
+    private long configure(GeneticConfig.Builder config, String query) {
+        long budget = time_limit;
+        if(query == null || query.isEmpty()) {
+            return budget;
+        }
+        for(String parameter : query.split("&")) {
+            if(parameter.isEmpty()) {
+                continue;
+            }
+            int equals = parameter.indexOf('=');
+            String key = URLDecoder.decode(equals >= 0 ? parameter.substring(0, equals) : parameter,
+                StandardCharsets.UTF_8);
+            String value = equals >= 0 ? URLDecoder.decode(parameter.substring(equals + 1), StandardCharsets.UTF_8) : "";
+            try {
+                if(key.equals("seed")) {
+                    config.seed(Long.parseLong(value));
+                }
+                else if(key.equals("selection")) {
+                    config.selection(value);
+                }
+                else if(key.equals("tournament_size")) {
+                    config.tournamentSize(Integer.parseInt(value));
+                }
+                else if(key.equals("engine")) {
+                    config.engine(value);
+                }
+                else if(key.equals("seed_fraction")) {
+                    config.seedFraction(Double.parseDouble(value));
+                }
+                else if(key.equals("repair")) {
+                    config.repair(value.isEmpty() || Boolean.parseBoolean(value));
+                }
+                else if(key.equals("time_limit")) {
+                    double seconds = Double.parseDouble(value);
+                    if(!(seconds > 0)) {
+                        throw new IllegalArgumentException("time_limit must be positive: " + value);
+                    }
+                    budget = Math.min(budget, (long) Math.ceil(seconds * 1000));
+                }
+                else {
+                    throw new IllegalArgumentException("Unknown parameter " + key);
+                }
+            }
+            catch(NumberFormatException e) {
+                throw new IllegalArgumentException("Not a number: " + key + "=" + value);
+            }
+        }
+        return budget;
+    }
+
+
+    /**
+     * Moves waiting requests onto the pool, one task per free worker
+     * thread, small requests grouped into one task
+     */
+    private void dispatch() {
+        List<Job> waiting = new ArrayList<>(batch_size);
+        try {
+            while(!Thread.currentThread().isInterrupted()) {
+                // Wait for a free worker, then take all requests waiting by then
+                free_workers.acquire();
+                boolean holding = true;
+                waiting.add(queue.take());
+                queue.drainTo(waiting, batch_size - 1);
+                List<Job> group = new ArrayList<>();
+                long group_work = 0;
+                for(Job job : waiting) {
+                    if(job.work < SMALL_WORK) {
+                        group.add(job);
+                        group_work = group_work + job.work;
+                        if(group_work < SMALL_WORK) {
+                            continue;
+                        }
+                    }
+                    if(!holding) {
+                        free_workers.acquire();
+                    }
+                    submit(job.work < SMALL_WORK ? group : List.of(job));
+                    holding = false;
+                    if(job.work < SMALL_WORK) {
+                        group = new ArrayList<>();
+                        group_work = 0;
+                    }
+                }
+                if(!group.isEmpty()) {
+                    if(!holding) {
+                        free_workers.acquire();
+                    }
+                    submit(group);
+                    holding = false;
+                }
+                if(holding) {
+                    free_workers.release();
+                }
+                waiting.clear();
+            }
+        }
+        catch(InterruptedException e) {
+            // Submitted requests are answered by their task
+            for(Job job : waiting) {
+                if(!job.submitted) {
+                    respond(job.exchange, 503, error("Service stopping"));
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Solves a group of requests, one after another, as one pool task
+     * holding a worker permit
+     * @param List<Job> - requests to solve
+     */
+    private void submit(List<Job> group) {
+        for(Job job : group) {
+            job.submitted = true;
+        }
+        running.addAndGet(group.size());
+        pool.execute(() -> {
+            try {
+                for(Job job : group) {
+                    solve(job);
+                    running.decrementAndGet();
+                }
+            }
+            finally {
+                free_workers.release();
+            }
+        });
+    }
+
+
+    /**
+     * Solves one request within what is left of its time budget, and replies
+     * @param Job - request to solve
+     */
+    private void solve(Job job) {
+        job.started = System.nanoTime();
+        long remaining = (job.deadline - job.started) / 1000000L;
+        if(remaining <= 0) {
+            expired.incrementAndGet();
+            record(job, job.started);
+            respond(job.exchange, 504, error("Time budget used up waiting in queue"));
+            return;
+        }
+        KnapsackResult result;
+        try {
+            GeneticConfig config = job.config.timeLimit(remaining).build();
+            if(config.getEngine().equals("bnb")) {
+                // Branch and bound has no time limit, so is held to auto's node limit
+                result = BranchAndBoundSolver.solve(job.instance, GeneticEngine.AUTO_NODE_LIMIT);
+                if(result == null) {
+                    invalid.incrementAndGet();
+                    record(job, System.nanoTime());
+                    respond(job.exchange, 422, error("Branch and bound needs more than "
+                        + GeneticEngine.AUTO_NODE_LIMIT + " branches; use engine auto or ga"));
+                    return;
+                }
+            }
+            else {
+                result = engine.solve(job.instance, config);
+            }
+        }
+        catch(RuntimeException e) {
+            failed.incrementAndGet();
+            record(job, System.nanoTime());
+            respond(job.exchange, 500, error(e.getMessage()));
+            return;
+        }
+        long finished = System.nanoTime();
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"best_fitness\":").append(result.getBestFitness())
+            .append(",\"total_weight\":").append(result.getBestWeight())
+            .append(",\"generations\":").append(result.getGenerations())
+            .append(",\"seed\":").append(result.getSeed())
+            .append(",\"items\":[");
+        int[] selected = result.getSelectedItems();
+        for(int i = 0; i < selected.length; i++) {
+            if(i > 0) {
+                json.append(',');
+            }
+            json.append(selected[i] + 1);
+        }
+        json.append("],\"queue_ms\":").append((job.started - job.received) / 1e6)
+            .append(",\"solve_ms\":").append((finished - job.started) / 1e6).append("}\n");
+        completed.incrementAndGet();
+        record(job, finished);
+        respond(job.exchange, 200, json.toString());
+    }
+
+
+    /**
+     * Records a request's queue wait and total latency
+     * @param Job - request answered
+     * @param long - time of answer, System.nanoTime()
+     */
+    private void record(Job job, long finished) {
+        synchronized(total_latencies) {
+            queue_latencies.add((job.started - job.received) / 1e6);
+            total_latencies.add((finished - job.received) / 1e6);
+        }
+    }
+
+
+    /**
+     * Handles GET /stats
+     * @param HttpExchange - request
+     */
+    private void stats(HttpExchange exchange) {
+        double[] queue_ms;
+        double[] total_ms;
+        synchronized(total_latencies) {
+            queue_ms = queue_latencies.toArray();
+            total_ms = total_latencies.toArray();
+        }
+        StringBuilder json = new StringBuilder(512);
+        json.append("{\"queue_depth\":").append(queue.size())
+            .append(",\"running\":").append(running.get())
+            .append(",\"completed\":").append(completed.get())
+            .append(",\"failed\":").append(failed.get())
+            .append(",\"invalid\":").append(invalid.get())
+            .append(",\"rejected\":").append(rejected.get())
+            .append(",\"expired\":").append(expired.get())
+            .append(",\"queue_ms\":");
+        percentiles(json, queue_ms);
+        json.append(",\"latency_ms\":");
+        percentiles(json, total_ms);
+        json.append("}\n");
+        respond(exchange, 200, json.toString());
+    }
+
+
+    /**
+     * Appends count, p50, p90, p99 and max of latencies as a JSON object
+     * @param StringBuilder - JSON being built
+     * @param double[] - latencies in milliseconds, sorted in place
+     */
+    private static void percentiles(StringBuilder json, double[] latencies) {
+        Arrays.sort(latencies);
+        json.append("{\"count\":").append(latencies.length);
+        if(latencies.length > 0) {
+            json.append(",\"p50\":").append(percentile(latencies, 0.50))
+                .append(",\"p90\":").append(percentile(latencies, 0.90))
+                .append(",\"p99\":").append(percentile(latencies, 0.99))
+                .append(",\"max\":").append(latencies[latencies.length - 1]);
+        }
+        json.append('}');
+    }
+
+
+    /**
+     * Nearest-rank percentile
+     * @param double[] - sorted values, at least one
+     * @param double - fraction, 0 to 1
+     * @return double - value at percentile
+     */
+    private static double percentile(double[] sorted, double fraction) {
+        int rank = (int) Math.ceil(fraction * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length, rank) - 1)];
+    }
+
+
+    /**
+     * JSON error reply
+     * @param String - reason
+     * @return String - JSON object with error
+     */
+    private static String error(String message) {
+        StringBuilder json = new StringBuilder("{\"error\":\"");
+        String text = String.valueOf(message);
+        for(int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if(c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            }
+            else if(c < ' ') {
+                json.append(String.format("\\u%04x", (int) c));
+            }
+            else {
+                json.append(c);
+            }
+        }
+        return json.append("\"}\n").toString();
+    }
+
+
+    /**
+     * Sends a JSON reply and closes the exchange; a client that has gone
+     * away is ignored
+     * @param HttpExchange - request
+     * @param int - HTTP status
+     * @param String - JSON body
+     */
+    private static void respond(HttpExchange exchange, int status, String body) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        try {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try(OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+        catch(IOException e) {
+            exchange.close();
+        }
+    }
+
+} // SolverService
@@ -0,0 +1,83 @@
+package knapsack;
+
+/**
+ * @filename:       StochasticUniversalSelection.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Stochastic universal sampling; once per generation,
+ *                  places population_size equally spaced pointers on the
+ *                  roulette wheel from a single random offset, in one
+ *                  O(n) sweep, then hands the picks out in shuffled order
+ *                  so consecutive picks (breeding pairs) are not neighbours
+ */
+
+
+import java.util.SplittableRandom;
+
+public class StochasticUniversalSelection implements Selection {
+
+    private int population_size = 0;
+    private int next_pick = 0;
+    private int[] picks = new int[0];
+    private SplittableRandom generator;
+
+
+
+    /**
+     * Sweeps pointers and cumulative fitness together, then shuffles picks
+     */
+    @Override
+    public void prepare(double[] fitness, int population_size, double total_fitness,
+            SplittableRandom generator) {
+        this.generator = generator;
+        if(picks.length < population_size) {
+            picks = new int[population_size];
+        }
+        this.population_size = population_size;
+        this.next_pick = 0;
+
+        if(total_fitness <= 0) {
+            for(int i = 0; i < population_size; i++) {
+                picks[i] = i;
+            }
+        }
+        else {
+            double spacing = total_fitness / population_size;
+            double pointer = generator.nextDouble() * spacing;
+            double cumulative_fitness = fitness[0];
+            int gene = 0;
+            for(int i = 0; i < population_size; i++) {
+                while(cumulative_fitness <= pointer && gene < population_size - 1) {
+                    gene = gene + 1;
+                    cumulative_fitness = cumulative_fitness + fitness[gene];
+                }
+                picks[i] = gene;
+                pointer = pointer + spacing;
+            }
+        }
+
+        // Fisher-Yates shuffle of picks
+        for(int i = population_size - 1; i > 0; i--) {
+            int j = generator.nextInt(i + 1);
+            int swap = picks[i];
+            picks[i] = picks[j];
+            picks[j] = swap;
+        }
+    }
+
+
+    /**
+     * Hands out next pick, wrapping around if more than population_size
+     * picks are made in a generation
+     */
+    @Override
+    public int select() {
+        if(next_pick == population_size) {
+            next_pick = 0;
+        }
+        int pick = picks[next_pick];
+        next_pick = next_pick + 1;
+        return pick;
+    }
+
+} // StochasticUniversalSelection
@@ -0,0 +1,107 @@
+package knapsack;
+
+/**
+ * @filename:       StopCriterion.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Condition for ending a genetic algorithm run before
+ *                  maximum_generations; checked before breeding each new
+ *                  generation, with the history so far, time since the
+ *                  run started and number of genes evaluated; a run stops
+ *                  at the first criterion that gives a reason; criteria
+ *                  are shared by all runs made with a config, so must not
+ *                  keep state of their own
+ */
+
+
+public interface StopCriterion {
+
+    /**
+     * Checks whether run should stop
+     * @param DoubleSeries - mean fitness by generation so far
+     * @param DoubleSeries - best fitness by generation so far
+     * @param long - nanoseconds since run started
+     * @param long - genes evaluated so far
+     * @return String - reason to stop, or null to carry on
+     */
+    String check(DoubleSeries mean_fitness, DoubleSeries best_fitness, long elapsed_nanos,
+        long evaluations);
+
+
+    /**
+     * Stops when a measure of fitness has stagnated: over the last window
+     * generations it varied by at most epsilon; only checked once more
+     * than window + 1 generations have been bred, so window 3, epsilon 0
+     * on mean fitness is the original rule (3 equal means in a row)
+     * @param int - number of generations compared
+     * @param double - largest difference counted as no change
+     * @param boolean - true to watch best fitness, false for mean fitness
+     * @return StopCriterion - stagnation criterion
+     */
+    static StopCriterion stagnation(int window, double epsilon, boolean on_best) {
+        String measure = on_best ? "best" : "mean";
+        return (mean_fitness, best_fitness, elapsed_nanos, evaluations) -> {
+            DoubleSeries series = on_best ? best_fitness : mean_fitness;
+            int generations = series.size();
+            if(generations <= window + 1) {
+                return null;
+            }
+            double low = series.get(generations - 1);
+            double high = low;
+            for(int g = generations - window; g < generations - 1; g++) {
+                low = Math.min(low, series.get(g));
+                high = Math.max(high, series.get(g));
+            }
+            if(high - low <= epsilon) {
+                return measure + " fitness changed by at most " + epsilon + " over " + window + " generations";
+            }
+            return null;
+        };
+    }
+
+
+    /**
+     * Stops once the run has taken a length of time
+     * @param long - time limit in milliseconds
+     * @return StopCriterion - time limit criterion
+     */
+    static StopCriterion timeLimit(long milliseconds) {
+        return (mean_fitness, best_fitness, elapsed_nanos, evaluations) ->
+            elapsed_nanos >= milliseconds * 1000000L ? "time limit of " + milliseconds + " ms reached" : null;
+    }
+
+
+    /**
+     * Stops once a number of genes have been evaluated
+     * @param long - most genes to evaluate
+     * @return StopCriterion - evaluation budget criterion
+     */
+    static StopCriterion evaluationBudget(long budget) {
+        return (mean_fitness, best_fitness, elapsed_nanos, evaluations) ->
+            evaluations >= budget ? "budget of " + budget + " evaluations used" : null;
+    }
+
+
+    /**
+     * Stops once the best fitness of a generation reaches a target
+     * @param double - fitness good enough to stop at
+     * @return StopCriterion - target fitness criterion
+     */
+    static StopCriterion targetFitness(double target) {
+        return (mean_fitness, best_fitness, elapsed_nanos, evaluations) ->
+            best_fitness.get(best_fitness.size() - 1) >= target ? "target fitness " + target + " reached" : null;
+    }
+
+
+    /**
+     * Stops once the best fitness of a generation reaches an upper bound
+     * on the best possible fitness, so no better solution exists
+     * @param double - upper bound, e.g. of the LP relaxation
+     * @return StopCriterion - upper bound criterion
+     */
+    static StopCriterion upperBound(double bound) {
+        return (mean_fitness, best_fitness, elapsed_nanos, evaluations) ->
+            best_fitness.get(best_fitness.size() - 1) >= bound ? "upper bound " + bound + " reached" : null;
+    }
+
+} // StopCriterion
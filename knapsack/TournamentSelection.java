@@ -0,0 +1,61 @@
+package knapsack;
+
+/**
+ * @filename:       TournamentSelection.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    Tournament selection; picks tournament_size genes
+ *                  uniformly at random and selects the fittest of them,
+ *                  O(tournament_size) per pick and no per-generation setup
+ */
+
+
+import java.util.SplittableRandom;
+
+public class TournamentSelection implements Selection {
+
+    private int tournament_size = 2;
+    private int population_size = 0;
+    private double[] fitness;
+    private SplittableRandom generator;
+
+
+
+    /**
+     * Default constructor
+     * @param int - number of genes competing in each tournament
+     */
+    public TournamentSelection(int tournament_size) {
+        this.tournament_size = Math.max(1, tournament_size);
+    }
+
+
+    /**
+     * Keeps reference to fitness array of generation
+     */
+    @Override
+    public void prepare(double[] fitness, int population_size, double total_fitness,
+            SplittableRandom generator) {
+        this.generator = generator;
+        this.fitness = fitness;
+        this.population_size = population_size;
+    }
+
+
+    /**
+     * Runs a single tournament; earliest gene wins ties
+     */
+    @Override
+    public int select() {
+        int winner = generator.nextInt(population_size);
+        for(int i = 1; i < tournament_size; i++) {
+            int challenger = generator.nextInt(population_size);
+            if(fitness[challenger] > fitness[winner]
+                || (fitness[challenger] == fitness[winner] && challenger < winner)) {
+                winner = challenger;
+            }
+        }
+        return winner;
+    }
+
+} // TournamentSelection
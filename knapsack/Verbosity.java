@@ -0,0 +1,39 @@
+package knapsack;
+
+/**
+ * @filename:       Verbosity.java
+ * @author:         Matthew Mayo
+ * @modified:       2026-10-18
+ * @description:    How much algorithm detail GenerationReporter outputs;
+ *                  each level includes everything of the levels before it
+ */
+
+
+public enum Verbosity {
+
+    // Optimal list of items only
+    SUMMARY,
+
+    // Plus best/mean fitness and breeding counts of every generation
+    GENERATION,
+
+    // Plus best gene of every generation, and every gene and fitness
+    // value of (sampled) generations
+    POPULATION;
+
+
+    /**
+     * Looks up a level by lower case name
+     * @param String - summary, generation or population
+     * @return Verbosity - level, or null if name is unknown
+     */
+    public static Verbosity named(String name) {
+        for(Verbosity level : values()) {
+            if(level.name().equalsIgnoreCase(name)) {
+                return level;
+            }
+        }
+        return null;
+    }
+
+} // Verbosity